@@ -0,0 +1,105 @@
+package ru.practicum.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки и исходы по эндпоинтам. Задержка считается от запланированного момента отправки,
+ * а не от фактического: если клиент не успевает отправлять с заданным RPS, очередь попадает в перцентили
+ * (иначе перегруженный сервис выглядел бы быстрее, чем его видят пользователи).
+ */
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    public LatencyReport(List<Workload.Endpoint> endpoints) {
+        for (Workload.Endpoint endpoint : endpoints) {
+            stats.put(endpoint.name(), new EndpointStats());
+        }
+    }
+
+    public void recordResponse(Workload.Endpoint endpoint, int status, long latencyNanos) {
+        EndpointStats endpointStats = stats.get(endpoint.name());
+        endpointStats.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status == 503) {
+            endpointStats.rejected.increment();
+        } else if (!endpoint.expectedStatuses().contains(status)) {
+            endpointStats.errors.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    public void recordFailure(Workload.Endpoint endpoint) {
+        stats.get(endpoint.name()).failures.increment();
+    }
+
+    public void print(PrintStream out, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf(Locale.ROOT, "%-40s %8s %8s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "rps", "err", "503", "fail", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        long totalRejected = 0;
+        long totalFailures = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            total.add(endpointStats.histogram);
+            long errors = endpointStats.errors.values().stream().mapToLong(LongAdder::sum).sum();
+            totalErrors += errors;
+            totalRejected += endpointStats.rejected.sum();
+            totalFailures += endpointStats.failures.sum();
+            printRow(out, entry.getKey(), endpointStats.histogram, errors,
+                    endpointStats.rejected.sum(), endpointStats.failures.sum(), seconds);
+        }
+        printRow(out, "TOTAL", total, totalErrors, totalRejected, totalFailures, seconds);
+
+        stats.forEach((name, endpointStats) -> endpointStats.errors.forEach((status, count) ->
+                out.printf(Locale.ROOT, "неожиданный ответ %d на %s: %d%n", status, name, count.sum())));
+    }
+
+    // Полное распределение по каждому эндпоинту в формате HdrHistogram (.hgrm) для построения графиков
+    public void writeDistributions(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(fileName)))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram,
+                                 long errors, long rejected, long failures, double seconds) {
+        out.printf(Locale.ROOT, "%-40s %8d %8.1f %6d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, rejected, failures,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class EndpointStats {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        // Неожиданные ответы по кодам статуса
+        private final Map<Integer, LongAdder> errors = new ConcurrentSkipListMap<>();
+        private final LongAdder rejected = new LongAdder();
+        // Таймаут или обрыв соединения: ответа нет, в перцентили не попадает
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный прогон против запущенного main-service (и stats-server либо заглушки).
+ * Модель открытая: запросы отправляются с постоянной частотой load.rps независимо от того,
+ * успевает ли сервис отвечать, как это происходит с реальными пользователями.
+ * Запуск описан в README, параметры — в LoadTestConfig.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        StatsServerStub stub = config.statsStub() ? new StatsServerStub(config.statsUrl().getPort()) : null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(executor)
+                     .connectTimeout(config.timeout())
+                     .build()) {
+            System.out.printf("Наполнение %s: %d пользователей, %d событий%n",
+                    config.mainUrl(), config.users(), config.events());
+            TestData data = new Seeder(httpClient, new ObjectMapper(), config.mainUrl())
+                    .seed(config.users(), config.events());
+
+            Workload workload = new Workload(config, data);
+            LatencyReport report = new LatencyReport(workload.getEndpoints());
+            System.out.printf("Нагрузка %d RPS: прогрев %ds, замер %ds%n",
+                    config.rps(), config.warmup().toSeconds(), config.duration().toSeconds());
+            run(config, workload, report, httpClient);
+
+            report.print(System.out, config.duration());
+            if (config.reportDir() != null) {
+                report.writeDistributions(config.reportDir());
+                System.out.println("Распределения задержек записаны в " + config.reportDir().toAbsolutePath());
+            }
+        } finally {
+            if (stub != null) {
+                System.out.printf("Заглушка статистики получила %d запросов /hit и %d запросов /stats%n",
+                        stub.getHits(), stub.getStatsRequests());
+                stub.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestConfig config, Workload workload, LatencyReport report, HttpClient httpClient) {
+        long intervalNanos = 1_000_000_000L / config.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                if (scheduledAt >= end) {
+                    break;
+                }
+                long delay = scheduledAt - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Workload.Endpoint endpoint = workload.next();
+                boolean measured = scheduledAt >= measureFrom;
+                requests.execute(() -> send(httpClient, endpoint, scheduledAt, measured ? report : null));
+            }
+            // Дожидаемся ответов на уже отправленные запросы, но не дольше таймаута запроса
+            requests.shutdown();
+            waitFor(requests, config.timeout());
+        }
+    }
+
+    private static void send(HttpClient httpClient, Workload.Endpoint endpoint, long scheduledAt, LatencyReport report) {
+        try {
+            int status = httpClient.send(endpoint.request().get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (report != null) {
+                report.recordResponse(endpoint, status, System.nanoTime() - scheduledAt);
+            }
+        } catch (IOException e) {
+            if (report != null) {
+                report.recordFailure(endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(ExecutorService executor, Duration timeout) {
+        try {
+            if (!executor.awaitTermination(timeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
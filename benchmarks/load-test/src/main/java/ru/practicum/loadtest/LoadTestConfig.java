@@ -0,0 +1,71 @@
+package ru.practicum.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Параметры прогона из системных свойств load.*, например -Dload.rps=200 -Dload.duration=2m.
+ */
+public record LoadTestConfig(URI mainUrl,
+                             URI statsUrl,
+                             boolean statsStub,
+                             int rps,
+                             Duration warmup,
+                             Duration duration,
+                             Duration timeout,
+                             Map<Workload.Group, Integer> mix,
+                             int users,
+                             int events,
+                             Path reportDir) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                URI.create(property("load.main-url", "http://localhost:8080")),
+                URI.create(property("load.stats-url", "http://localhost:9090")),
+                Boolean.parseBoolean(property("load.stats-stub", "false")),
+                Integer.parseInt(property("load.rps", "100")),
+                parseDuration(property("load.warmup", "10s")),
+                parseDuration(property("load.duration", "60s")),
+                parseDuration(property("load.timeout", "10s")),
+                parseMix(property("load.mix", "public:70,private:15,admin:5,stats:10")),
+                Integer.parseInt(property("load.users", "20")),
+                Integer.parseInt(property("load.events", "100")),
+                System.getProperty("load.report-dir") == null ? null : Path.of(System.getProperty("load.report-dir"))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+
+    // 500ms, 30s, 2m; без единицы — секунды
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text));
+    }
+
+    static Map<Workload.Group, Integer> parseMix(String value) {
+        Map<Workload.Group, Integer> mix = new EnumMap<>(Workload.Group.class);
+        for (String part : value.split(",")) {
+            String[] groupAndWeight = part.trim().split(":");
+            if (groupAndWeight.length != 2) {
+                throw new IllegalArgumentException("Ожидается группа:вес, получено: " + part);
+            }
+            mix.put(Workload.Group.valueOf(groupAndWeight[0].trim().toUpperCase()),
+                    Integer.parseInt(groupAndWeight[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Наполняет main-service через его же API: категории, пользователи, опубликованные события и подборки.
+ * Имена и email уникальны для прогона, поэтому повторный запуск на той же базе не конфликтует с прошлым.
+ */
+public class Seeder {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int CATEGORIES = 5;
+    private static final int COMPILATIONS = 3;
+    private static final int EVENTS_PER_COMPILATION = 10;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI mainUrl;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    public Seeder(HttpClient httpClient, ObjectMapper objectMapper, URI mainUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.mainUrl = mainUrl;
+    }
+
+    public TestData seed(int users, int events) throws IOException, InterruptedException {
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds.add(create("/admin/categories", Map.of("name", "Категория " + runId + "-" + i)));
+        }
+
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userIds.add(create("/admin/users", Map.of(
+                    "name", "Пользователь " + i,
+                    "email", "load" + i + "." + runId + "@mail.ru")));
+        }
+
+        String eventDate = LocalDateTime.now().plusDays(7).format(DATE_TIME_FORMATTER);
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            Long initiatorId = userIds.get(i % userIds.size());
+            Long eventId = create("/users/" + initiatorId + "/events", Map.of(
+                    "annotation", "Аннотация события нагрузочного теста " + i,
+                    "category", categoryIds.get(i % categoryIds.size()),
+                    "description", "Описание события нагрузочного теста " + i,
+                    "eventDate", eventDate,
+                    "location", Map.of("lat", 55.75, "lon", 37.62),
+                    "paid", i % 2 == 0,
+                    "participantLimit", 0,
+                    "requestModeration", false,
+                    "title", "Событие " + runId + "-" + i));
+            send("PATCH", "/admin/events/" + eventId, Map.of("stateAction", "PUBLISH_EVENT"), 200);
+            eventIds.add(eventId);
+        }
+
+        List<Long> compilationIds = new ArrayList<>();
+        for (int i = 0; i < COMPILATIONS; i++) {
+            int from = i * EVENTS_PER_COMPILATION % eventIds.size();
+            List<Long> compilationEvents = eventIds.subList(from, Math.min(from + EVENTS_PER_COMPILATION, eventIds.size()));
+            compilationIds.add(create("/admin/compilations", Map.of(
+                    "title", "Подборка " + runId + "-" + i,
+                    "pinned", i == 0,
+                    "events", compilationEvents)));
+        }
+
+        return new TestData(categoryIds, userIds, eventIds, compilationIds);
+    }
+
+    private Long create(String path, Map<String, Object> body) throws IOException, InterruptedException {
+        return send("POST", path, body, 201).get("id").asLong();
+    }
+
+    private JsonNode send(String method, String path, Map<String, Object> body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(mainUrl.resolve(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " вернул " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
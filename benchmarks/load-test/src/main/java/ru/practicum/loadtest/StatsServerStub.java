@@ -0,0 +1,71 @@
+package ru.practicum.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Заглушка сервиса статистики: принимает хиты и отвечает пустой статистикой,
+ * чтобы нагрузка на main-service не упиралась в stats-server и его базу.
+ * Запускается из LoadTest (-Dload.stats-stub=true) или отдельно, до старта main-service.
+ */
+public class StatsServerStub implements AutoCloseable {
+
+    private static final byte[] EMPTY_STATS = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder statsRequests = new LongAdder();
+
+    public StatsServerStub(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/hit", this::handleHit);
+        server.createContext("/stats", this::handleStats);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        new StatsServerStub(port);
+        System.out.println("Заглушка сервиса статистики слушает порт " + port);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStatsRequests() {
+        return statsRequests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    // /hit и /hit/batch; хиты в пачке не разбираются, считается только число запросов
+    private void handleHit(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        hits.increment();
+        exchange.sendResponseHeaders(201, -1);
+        exchange.close();
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        statsRequests.increment();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, EMPTY_STATS.length);
+        exchange.getResponseBody().write(EMPTY_STATS);
+        exchange.close();
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.loadtest;
+
+import java.util.List;
+
+/**
+ * Id сущностей, созданных Seeder; нагрузка обращается только к ним.
+ */
+public record TestData(List<Long> categoryIds,
+                       List<Long> userIds,
+                       List<Long> eventIds,
+                       List<Long> compilationIds) {
+}
@@ -0,0 +1,183 @@
+package ru.practicum.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Смесь запросов по группам API. Вес группы задаётся load.mix, веса эндпоинтов внутри группы
+ * повторяют соотношение сценариев Postman-коллекций: чтение событий заметно чаще записи.
+ */
+public class Workload {
+
+    public enum Group {
+        PUBLIC,
+        PRIVATE,
+        ADMIN,
+        // Прямые запросы к stats-server: /hit от main-service и /stats от аналитики
+        STATS
+    }
+
+    /**
+     * expectedStatuses — ответы, которые не считаются ошибкой. Например, 409 на повторную заявку:
+     * пользователь не может дважды подать заявку на одно событие, и это штатный ответ сервиса.
+     */
+    public record Endpoint(String name, Group group, int weight, Set<Integer> expectedStatuses,
+                           Supplier<HttpRequest> request) {
+    }
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Set<Integer> OK = Set.of(200);
+    private static final Set<Integer> CREATED = Set.of(201);
+
+    private final URI mainUrl;
+    private final URI statsUrl;
+    private final TestData data;
+    private final Duration timeout;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public Workload(LoadTestConfig config, TestData data) {
+        this.mainUrl = config.mainUrl();
+        this.statsUrl = config.statsUrl();
+        this.data = data;
+        this.timeout = config.timeout();
+
+        Map<Group, Integer> mix = config.mix();
+        for (Group group : Group.values()) {
+            int groupWeight = mix.getOrDefault(group, 0);
+            if (groupWeight == 0 || group == Group.STATS && config.statsStub()) {
+                continue;
+            }
+            List<Endpoint> groupEndpoints = endpoints(group);
+            int endpointsWeight = groupEndpoints.stream().mapToInt(Endpoint::weight).sum();
+            // Вес эндпоинта пересчитывается в долю от веса группы
+            for (Endpoint endpoint : groupEndpoints) {
+                int weight = Math.max(1, groupWeight * endpoint.weight() * 100 / endpointsWeight);
+                endpoints.add(new Endpoint(endpoint.name(), group, weight, endpoint.expectedStatuses(),
+                        endpoint.request()));
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("В load.mix нет ни одной группы с ненулевым весом");
+        }
+
+        cumulativeWeights = new int[endpoints.size()];
+        int sum = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            sum += endpoints.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+        totalWeight = sum;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public Endpoint next() {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+        return endpoints.getLast();
+    }
+
+    private List<Endpoint> endpoints(Group group) {
+        return switch (group) {
+            case PUBLIC -> List.of(
+                    new Endpoint("GET /events", group, 30, OK, () -> get(mainUrl,
+                            "/events?from=0&size=10&categories=" + any(data.categoryIds()))),
+                    new Endpoint("GET /events?sort=VIEWS", group, 5, OK, () -> get(mainUrl,
+                            "/events?eventsSort=VIEWS&onlyAvailable=true&from=0&size=10")),
+                    new Endpoint("GET /events?text", group, 5, OK, () -> get(mainUrl,
+                            "/events?text=" + encode("нагрузочного") + "&paid=true&from=0&size=10")),
+                    new Endpoint("GET /events/{id}", group, 35, OK, () -> get(mainUrl,
+                            "/events/" + any(data.eventIds()))),
+                    new Endpoint("GET /events/{id}/comments", group, 10, OK, () -> get(mainUrl,
+                            "/events/" + any(data.eventIds()) + "/comments")),
+                    new Endpoint("GET /categories", group, 5, OK, () -> get(mainUrl,
+                            "/categories?from=0&size=10")),
+                    new Endpoint("GET /compilations", group, 5, OK, () -> get(mainUrl,
+                            "/compilations?from=0&size=10")),
+                    new Endpoint("GET /compilations/{id}", group, 5, OK, () -> get(mainUrl,
+                            "/compilations/" + any(data.compilationIds())))
+            );
+            case PRIVATE -> List.of(
+                    new Endpoint("GET /users/{id}/events", group, 30, OK, () -> get(mainUrl,
+                            "/users/" + any(data.userIds()) + "/events?from=0&size=10")),
+                    new Endpoint("GET /users/{id}/requests", group, 20, OK, () -> get(mainUrl,
+                            "/users/" + any(data.userIds()) + "/requests")),
+                    new Endpoint("POST /users/{id}/requests", group, 30, Set.of(201, 409), () -> post(mainUrl,
+                            "/users/" + any(data.userIds()) + "/requests?eventId=" + any(data.eventIds()), "")),
+                    new Endpoint("POST /users/{id}/events/{id}/comments", group, 20, CREATED, () -> post(mainUrl,
+                            "/users/" + any(data.userIds()) + "/events/" + any(data.eventIds()) + "/comments",
+                            "{\"text\":\"Комментарий нагрузочного теста\"}"))
+            );
+            case ADMIN -> List.of(
+                    new Endpoint("GET /admin/events", group, 50, OK, () -> get(mainUrl,
+                            "/admin/events?states=PUBLISHED&from=0&size=10")),
+                    new Endpoint("GET /admin/events/comments", group, 30, OK, () -> get(mainUrl,
+                            "/admin/events/comments?status=PENDING&from=0&size=10")),
+                    // Правка опубликованного события конкурирует с заявками за ту же строку events
+                    new Endpoint("PATCH /admin/events/{id}", group, 20, Set.of(200, 409), () -> patch(mainUrl,
+                            "/admin/events/" + any(data.eventIds()),
+                            "{\"annotation\":\"Аннотация, изменённая администратором " + System.nanoTime() + "\"}"))
+            );
+            case STATS -> List.of(
+                    new Endpoint("POST /hit", group, 80, CREATED, () -> post(statsUrl, "/hit",
+                            "{\"app\":\"ewm-main-service\",\"uri\":\"/events/" + any(data.eventIds())
+                                    + "\",\"ip\":\"10.0." + random(256) + "." + random(256)
+                                    + "\",\"timestamp\":\"" + LocalDateTime.now().format(DATE_TIME_FORMATTER) + "\"}")),
+                    new Endpoint("GET /stats", group, 20, OK, () -> get(statsUrl,
+                            "/stats?start=" + encode("2020-01-01 00:00:00")
+                                    + "&end=" + encode(LocalDateTime.now().plusDays(1).format(DATE_TIME_FORMATTER))
+                                    + "&uris=" + encode("/events/" + any(data.eventIds()))
+                                    + "&unique=" + ThreadLocalRandom.current().nextBoolean()))
+            );
+        };
+    }
+
+    private HttpRequest get(URI baseUrl, String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(URI baseUrl, String path, String body) {
+        return json(baseUrl, path).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest patch(URI baseUrl, String path, String body) {
+        return json(baseUrl, path).method("PATCH", HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder json(URI baseUrl, String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+    }
+
+    private static Long any(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
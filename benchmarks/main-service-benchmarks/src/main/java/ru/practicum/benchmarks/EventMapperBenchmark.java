@@ -0,0 +1,101 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.explorewithme.category.mapper.CategoryMapperImpl;
+import ru.practicum.explorewithme.category.model.Category;
+import ru.practicum.explorewithme.event.dto.EventFullDto;
+import ru.practicum.explorewithme.event.dto.EventShortDto;
+import ru.practicum.explorewithme.event.dto.EventShortView;
+import ru.practicum.explorewithme.event.enums.State;
+import ru.practicum.explorewithme.event.mapper.EventMapper;
+import ru.practicum.explorewithme.event.mapper.EventMapperImpl;
+import ru.practicum.explorewithme.event.mapper.LocationMapperImpl;
+import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.event.model.Location;
+import ru.practicum.explorewithme.user.mapper.UserMapperImpl;
+import ru.practicum.explorewithme.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг события в DTO: из сущности (карточка и старые списки) и из проекции EventShortView (публичный и приватный списки).
+ * Маперы берутся из контекста Spring, как в приложении, но без JPA и веб-слоя.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private EventMapper eventMapper;
+    private Event event;
+    private EventShortView view;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(
+                EventMapperImpl.class, CategoryMapperImpl.class, UserMapperImpl.class, LocationMapperImpl.class);
+        eventMapper = context.getBean(EventMapper.class);
+
+        User initiator = new User();
+        initiator.setId(1L);
+        initiator.setName("Инициатор");
+        initiator.setEmail("initiator@mail.ru");
+        Category category = Category.builder().id(1L).name("Концерты").build();
+        LocalDateTime eventDate = LocalDateTime.now().plusDays(7);
+
+        event = Event.builder()
+                .id(1L)
+                .annotation("Аннотация события для бенчмарка маппинга")
+                .description("Описание события для бенчмарка маппинга. ".repeat(20))
+                .title("Событие")
+                .category(category)
+                .initiator(initiator)
+                .location(new Location(55.75f, 37.62f))
+                .createdOn(LocalDateTime.now())
+                .eventDate(eventDate)
+                .paid(false)
+                .participantLimit(10)
+                .requestModeration(true)
+                .state(State.PUBLISHED)
+                .publishedOn(LocalDateTime.now())
+                .confirmedRequests(3L)
+                .build();
+        view = new EventShortView(1L, "Событие", "Аннотация события для бенчмарка маппинга",
+                1L, "Концерты", eventDate, false, 1L, "Инициатор", 3L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EventFullDto toEventFullDto() {
+        return eventMapper.toEventFullDto(event, 42L);
+    }
+
+    @Benchmark
+    public EventShortDto toEventShortDto_fromEntity() {
+        return eventMapper.toEventShortDto(event, 42L);
+    }
+
+    @Benchmark
+    public EventShortDto toEventShortDto_fromView() {
+        return eventMapper.toEventShortDto(view, 42L);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.IpAddresses;
+import ru.practicum.StatsUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Проверка IP клиента на каждый просмотр события и на каждый /hit: прежнее регулярное выражение против IpAddresses.
+ * Запуск с -prof gc показывает и аллокации на вызов.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IpAddressBenchmark {
+
+    // Выражение, которое раньше было в StatsUtil и в @Pattern у StatsDto
+    private static final String IP_ADDRESS_REGEX =
+            "^(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)[.]){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$";
+    private static final Pattern IP_ADDRESS_PATTERN = Pattern.compile(IP_ADDRESS_REGEX);
+
+    @Param({"192.168.100.254", "10.0.0.1", "0:0:0:0:0:0:0:1", "2001:db8::ff00:42:8329", "::ffff:192.168.1.1", "not-an-ip"})
+    private String ip;
+
+    private final byte[] packed = new byte[IpAddresses.IPV6_LENGTH];
+
+    @Benchmark
+    public String regex_compiledPerCall() {
+        Matcher matcher = Pattern.compile(IP_ADDRESS_REGEX).matcher(ip);
+        return matcher.find() ? matcher.group() : StatsUtil.DEFAULT_IP_ADDRESS;
+    }
+
+    @Benchmark
+    public boolean regex_precompiled() {
+        return IP_ADDRESS_PATTERN.matcher(ip).matches();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return IpAddresses.isValid(ip);
+    }
+
+    @Benchmark
+    public String getIpAddressOrDefault() {
+        return StatsUtil.getIpAddressOrDefault(ip);
+    }
+
+    @Benchmark
+    public int packIntoBuffer() {
+        return IpAddresses.pack(ip, packed);
+    }
+}
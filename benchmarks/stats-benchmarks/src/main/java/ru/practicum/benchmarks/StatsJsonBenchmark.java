@@ -0,0 +1,79 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.StatsDto;
+import ru.practicum.StatsView;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация тех же тел, что отправляет и получает StatsClientImpl, тем же ObjectMapper, что собирает Spring Boot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsJsonBenchmark {
+
+    // Размер пачки совпадает со stats.hit.batch-size по умолчанию
+    private static final int BATCH_SIZE = 500;
+    private static final int VIEWS = 100;
+
+    private ObjectMapper objectMapper;
+    private JavaType statsViewListType;
+    private StatsDto hit;
+    private List<StatsDto> hits;
+    private String statsResponse;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        statsViewListType = objectMapper.getTypeFactory().constructCollectionType(List.class, StatsView.class);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        hit = new StatsDto("ewm-main-service", "/events/1", "192.168.0.1", now);
+        hits = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            hits.add(new StatsDto("ewm-main-service", "/events/" + i, "10.0.0." + i % 256, now));
+        }
+
+        List<StatsView> views = new ArrayList<>(VIEWS);
+        for (long id = 1; id <= VIEWS; id++) {
+            views.add(new StatsView("ewm-main-service", "/events/" + id, id, id));
+        }
+        statsResponse = objectMapper.writeValueAsString(views);
+    }
+
+    @Benchmark
+    public String writeHit() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(hit);
+    }
+
+    @Benchmark
+    public String writeHitsBatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(hits);
+    }
+
+    @Benchmark
+    public List<StatsView> readStats() throws JsonProcessingException {
+        return objectMapper.readValue(statsResponse, statsViewListType);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.StatsDto;
+import ru.practicum.StatsParams;
+import ru.practicum.StatsView;
+import ru.practicum.explorewithme.ExploreWithMeStatsServer;
+import ru.practicum.explorewithme.service.StatsRollupService;
+import ru.practicum.explorewithme.service.StatsService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatsService.getStats на встроенной H2 (профиль local) в том виде, в каком его вызывает /stats:
+ * основная часть хитов уже свёрнута в корзины и скетчи, поверх них читается несвёрнутый хвост.
+ * Абсолютные цифры с PostgreSQL не сравнимы, бенчмарк нужен для сравнения режимов между собой и между версиями.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsServiceBenchmark {
+
+    private static final int URIS = 200;
+    private static final int IPS = 1000;
+    private static final int SELECTED_URIS = 10;
+    // Доля хитов, пришедших после последней свёртки
+    private static final int TAIL_PERCENT = 1;
+
+    @Param({"100000"})
+    private int hits;
+
+    private ConfigurableApplicationContext context;
+    private StatsService statsService;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private List<String> selectedUris;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ExploreWithMeStatsServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("local")
+                .properties(
+                        // Свёртка запускается вручную, по расписанию она изменила бы данные во время замеров
+                        "stats.rollup.interval-ms=86400000",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework=WARN")
+                .run();
+        statsService = context.getBean(StatsService.class);
+        StatsRollupService rollupService = context.getBean(StatsRollupService.class);
+
+        end = LocalDateTime.now().withNano(0);
+        start = end.minusDays(30);
+        int tail = hits * TAIL_PERCENT / 100;
+        seed(0, hits - tail);
+        // Первый запуск запоминает максимальный id, второй сворачивает хиты до него
+        rollupService.rollup();
+        rollupService.rollup();
+        seed(hits - tail, hits);
+
+        selectedUris = new ArrayList<>(SELECTED_URIS);
+        for (int i = 0; i < SELECTED_URIS; i++) {
+            selectedUris.add("/events/" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StatsView> hitsAllUris() {
+        return statsService.getStats(params(null, false, false));
+    }
+
+    @Benchmark
+    public List<StatsView> hitsSelectedUris() {
+        return statsService.getStats(params(selectedUris, false, false));
+    }
+
+    @Benchmark
+    public List<StatsView> uniqueHitsAllUris() {
+        return statsService.getStats(params(null, true, false));
+    }
+
+    @Benchmark
+    public List<StatsView> uniqueHitsSelectedUris() {
+        return statsService.getStats(params(selectedUris, true, false));
+    }
+
+    @Benchmark
+    public List<StatsView> approximateUniqueHitsAllUris() {
+        return statsService.getStats(params(null, true, true));
+    }
+
+    @Benchmark
+    public List<StatsView> approximateUniqueHitsSelectedUris() {
+        return statsService.getStats(params(selectedUris, true, true));
+    }
+
+    private StatsParams params(List<String> uris, boolean unique, boolean approximate) {
+        StatsParams params = new StatsParams();
+        params.setStart(start);
+        params.setEnd(end);
+        params.setUris(uris);
+        params.setUnique(unique);
+        params.setApproximate(approximate);
+        return params;
+    }
+
+    // Хиты равномерно распределены по 30 дням, популярность uri убывает с номером
+    private void seed(int from, int to) {
+        long stepSeconds = 30L * 24 * 60 * 60 / hits;
+        List<StatsDto> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int uri = (int) (Math.abs(Math.sin(i)) * Math.abs(Math.sin(i)) * URIS);
+            int ip = i % IPS;
+            batch.add(new StatsDto("ewm-main-service", "/events/" + uri,
+                    "10.0." + ip / 256 + "." + ip % 256, start.plusSeconds(i * stepSeconds)));
+            if (batch.size() == 1000) {
+                statsService.saveHits(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            statsService.saveHits(batch);
+        }
+    }
+}
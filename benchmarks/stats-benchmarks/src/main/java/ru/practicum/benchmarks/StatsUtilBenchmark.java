@@ -0,0 +1,51 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.LongLongMap;
+import ru.practicum.StatsUtil;
+import ru.practicum.StatsView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatsUtil вызывается на каждый запрос к событиям: разбор ответа статистики. Проверка IP клиента — в IpAddressBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsUtilBenchmark {
+
+    // Размер ответа статистики: одно событие, страница списка, пачка синхронизации просмотров
+    @Param({"10", "100", "1000"})
+    private int rows;
+
+    private List<StatsView> statsViews;
+
+    @Setup
+    public void setUp() {
+        statsViews = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            statsViews.add(new StatsView("ewm-main-service", "/events/" + id, id * 7, id));
+        }
+    }
+
+    @Benchmark
+    public LongLongMap getViewsMap() {
+        return StatsUtil.getViewsMap(statsViews);
+    }
+}
@@ -6,16 +6,33 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
+import ru.practicum.client.StatsClient;
+import ru.practicum.explorewithme.category.model.Category;
 import ru.practicum.explorewithme.compilation.model.Compilation;
+import ru.practicum.explorewithme.event.enums.State;
+import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.event.model.Location;
+import ru.practicum.explorewithme.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +44,9 @@ class CompilationControllerTest {
 
     private final EntityManager em;
 
+    @MockBean
+    private StatsClient statsClient;
+
     private MockMvc mvc;
 
     @BeforeEach
@@ -125,11 +145,81 @@ class CompilationControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-    private void persistCompilation(String title, Boolean pinned) {
+    @Test
+    void getById_shouldReturnNotModified_whenEtagMatches(WebApplicationContext wac) throws Exception {
+        Compilation compilation = persistCompilation("Подборка", true);
+        em.flush();
+
+        MockMvc etagMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .addFilters(wac.getBean("etagFilter", FilterRegistrationBean.class).getFilter())
+                .build();
+        String url = CompilationController.URL + "/" + compilation.getId();
+
+        String etag = etagMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        etagMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAll_shouldLoadViewsOncePerPage() throws Exception {
+        List<Event> events = persistEvents(6);
+        for (int i = 0; i < 5; i++) {
+            Compilation compilation = persistCompilation("Подборка " + i, false);
+            compilation.setEvents(new HashSet<>(events.subList(i, i + 2)));
+        }
+
+        em.flush();
+
+        mvc.perform(get(CompilationController.URL + "?from=0&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].events", hasSize(2)));
+
+        verify(statsClient, times(1)).getStats(any());
+    }
+
+    private Compilation persistCompilation(String title, Boolean pinned) {
         Compilation compilation1 = new Compilation();
         compilation1.setTitle(title);
         compilation1.setPinned(pinned);
         em.persist(compilation1);
+        return compilation1;
+    }
+
+    private List<Event> persistEvents(int count) {
+        User user = new User();
+        user.setName("Инициатор");
+        user.setEmail("initiator@mail.ru");
+        em.persist(user);
+
+        Category category = Category.builder().name("Концерты").build();
+        em.persist(category);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Event event = Event.builder()
+                    .annotation("Аннотация события " + i)
+                    .description("Описание события " + i)
+                    .title("Событие " + i)
+                    .category(category)
+                    .initiator(user)
+                    .location(new Location(55.75f, 37.62f))
+                    .createdOn(LocalDateTime.now())
+                    .eventDate(LocalDateTime.now().plusDays(i))
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(true)
+                    .state(State.PUBLISHED)
+                    .build();
+            em.persist(event);
+            events.add(event);
+        }
+        return events;
     }
 
 }
\ No newline at end of file
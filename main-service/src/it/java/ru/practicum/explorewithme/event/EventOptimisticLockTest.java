@@ -0,0 +1,100 @@
+package ru.practicum.explorewithme.event;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.explorewithme.category.dao.CategoryRepository;
+import ru.practicum.explorewithme.category.model.Category;
+import ru.practicum.explorewithme.event.dao.EventRepository;
+import ru.practicum.explorewithme.event.enums.State;
+import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.event.model.Location;
+import ru.practicum.explorewithme.user.dao.UserRepository;
+import ru.practicum.explorewithme.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Без @Transactional: каждое сохранение идёт в своей транзакции, как два параллельных запроса на правку.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EventOptimisticLockTest {
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void save_shouldFail_whenEventWasChangedConcurrently() {
+        Event event = saveEvent();
+        Event adminCopy = eventRepository.findById(event.getId()).orElseThrow();
+        Event initiatorCopy = eventRepository.findById(event.getId()).orElseThrow();
+
+        adminCopy.setTitle("Название от администратора");
+        eventRepository.save(adminCopy);
+
+        initiatorCopy.setTitle("Название от инициатора");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> eventRepository.save(initiatorCopy));
+        assertEquals("Название от администратора", eventRepository.findById(event.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void update_shouldKeepCounters_whenSeatsWereReservedConcurrently() {
+        Event event = saveEvent();
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Event initiatorCopy = eventRepository.findById(event.getId()).orElseThrow();
+            concurrent.executeWithoutResult(inner -> eventRepository.reserveSeats(event.getId(), 2));
+            initiatorCopy.setTitle("Новое название");
+        });
+
+        assertEquals(2, eventRepository.getConfirmedRequests(event.getId()));
+        assertEquals("Новое название", eventRepository.findById(event.getId()).orElseThrow().getTitle());
+    }
+
+    private Event saveEvent() {
+        User initiator = new User();
+        initiator.setName("Инициатор");
+        initiator.setEmail("initiator@mail.ru");
+        userRepository.save(initiator);
+
+        Category category = categoryRepository.save(Category.builder().name("Концерты").build());
+
+        return eventRepository.save(Event.builder()
+                .annotation("Аннотация события для проверки версий")
+                .description("Описание события для проверки версий")
+                .title("Событие")
+                .category(category)
+                .initiator(initiator)
+                .location(new Location(55.75f, 37.62f))
+                .createdOn(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .paid(false)
+                .participantLimit(10)
+                .requestModeration(true)
+                .state(State.PENDING)
+                .build());
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.explorewithme.event;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import ru.practicum.client.StatsClient;
+import ru.practicum.explorewithme.category.model.Category;
+import ru.practicum.explorewithme.compilation.model.Compilation;
+import ru.practicum.explorewithme.event.enums.State;
+import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.event.model.Location;
+import ru.practicum.explorewithme.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * У каждого события своя категория и свой инициатор: при ленивой загрузке страница из 10 событий
+ * дала бы 20 дополнительных запросов, поэтому число запросов не должно зависеть от размера страницы.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("local")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Transactional
+class EventQueryCountTest {
+
+    private static final int EVENTS = 10;
+
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    private MockMvc mvc;
+    private Statistics statistics;
+    private List<Event> events;
+
+    @BeforeEach
+    void setUp(WebApplicationContext wac) {
+        mvc = MockMvcBuilders.webAppContextSetup(wac).build();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        events = persistEvents();
+    }
+
+    @Test
+    void publicGetAll_shouldLoadPageWithSingleQuery() throws Exception {
+        assertStatements(1, "/events?size=" + EVENTS, jsonPath("$", hasSize(EVENTS)));
+    }
+
+    @Test
+    void publicGetById_shouldLoadEventWithSingleQuery() throws Exception {
+        assertStatements(1, "/events/" + events.getFirst().getId(), jsonPath("$.initiator.name").exists());
+    }
+
+    @Test
+    void adminGetAll_shouldLoadPageWithSingleQuery() throws Exception {
+        assertStatements(1, "/admin/events?size=" + EVENTS, jsonPath("$", hasSize(EVENTS)));
+    }
+
+    @Test
+    void privateGetAll_shouldNotLoadInitiatorAndCategoryPerEvent() throws Exception {
+        Long initiatorId = events.getFirst().getInitiator().getId();
+
+        assertStatements(2, "/users/" + initiatorId + "/events", jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void compilationsGetAll_shouldLoadEventsInBatches() throws Exception {
+        persistCompilation("Первая подборка", events.subList(0, EVENTS / 2));
+        persistCompilation("Вторая подборка", events.subList(EVENTS / 2, EVENTS));
+
+        // подборки, их события, затем категории и инициаторы событий — по одному запросу
+        assertStatements(4, "/compilations", jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void compilationGetById_shouldLoadEventsWithSingleQuery() throws Exception {
+        Compilation compilation = persistCompilation("Подборка", events);
+
+        assertStatements(1, "/compilations/" + compilation.getId(), jsonPath("$.events", hasSize(EVENTS)));
+    }
+
+    private void assertStatements(long maxStatements, String url, ResultMatcher content) throws Exception {
+        clearContext();
+
+        mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                "Ожидалось не более " + maxStatements + " запросов, выполнено " + statements);
+    }
+
+    private void clearContext() {
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    private Compilation persistCompilation(String title, List<Event> events) {
+        Compilation compilation = new Compilation();
+        compilation.setTitle(title);
+        compilation.setPinned(false);
+        compilation.setEvents(new HashSet<>(events));
+        em.persist(compilation);
+        return compilation;
+    }
+
+    private List<Event> persistEvents() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= EVENTS; i++) {
+            User user = new User();
+            user.setName("Инициатор " + i);
+            user.setEmail("initiator" + i + "@mail.ru");
+            em.persist(user);
+
+            Category category = Category.builder().name("Категория " + i).build();
+            em.persist(category);
+
+            Event event = Event.builder()
+                    .annotation("Аннотация события " + i)
+                    .description("Описание события " + i)
+                    .title("Событие " + i)
+                    .category(category)
+                    .initiator(user)
+                    .location(new Location(55.75f, 37.62f))
+                    .createdOn(LocalDateTime.now())
+                    .eventDate(LocalDateTime.now().plusDays(i))
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(true)
+                    .state(State.PUBLISHED)
+                    .publishedOn(LocalDateTime.now())
+                    .build();
+            em.persist(event);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.explorewithme.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.explorewithme.category.dao.CategoryRepository;
+import ru.practicum.explorewithme.category.model.Category;
+import ru.practicum.explorewithme.error.exception.RuleViolationException;
+import ru.practicum.explorewithme.event.dao.EventRepository;
+import ru.practicum.explorewithme.event.enums.State;
+import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.event.model.Location;
+import ru.practicum.explorewithme.request.dao.RequestRepository;
+import ru.practicum.explorewithme.request.dto.RequestDto;
+import ru.practicum.explorewithme.request.dto.RequestStatusUpdate;
+import ru.practicum.explorewithme.request.enums.Status;
+import ru.practicum.explorewithme.user.dao.UserRepository;
+import ru.practicum.explorewithme.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Без @Transactional: каждый вызов сервиса идёт в своей транзакции, как при параллельных HTTP-запросах.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RequestServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int USERS = 40;
+    private static final int LIMIT = 5;
+
+    private final RequestService requestService;
+    private final RequestRepository requestRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        requestRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createRequest_shouldNotOverbook_whenUsersRequestConcurrently() throws Exception {
+        Event event = saveEvent(false);
+        List<User> users = saveUsers();
+
+        List<Callable<RequestDto>> tasks = users.stream()
+                .<Callable<RequestDto>>map(user -> () -> requestService.createRequest(user.getId(), event.getId()))
+                .toList();
+        List<Future<RequestDto>> results = runConcurrently(tasks);
+
+        assertEquals(LIMIT, countSucceeded(results));
+        assertEquals(LIMIT, requestRepository.findByEventIdAndStatus(event.getId(), Status.CONFIRMED).size());
+        assertEquals(LIMIT, eventRepository.getConfirmedRequests(event.getId()));
+    }
+
+    @Test
+    void updateRequestStatus_shouldNotOverbook_whenInitiatorConfirmsConcurrently() throws Exception {
+        Event event = saveEvent(true);
+        List<Long> requestIds = new ArrayList<>();
+        for (User user : saveUsers()) {
+            requestIds.add(requestService.createRequest(user.getId(), event.getId()).getId());
+        }
+        Long initiatorId = event.getInitiator().getId();
+
+        List<Callable<RequestDto>> tasks = requestIds.stream()
+                .<Callable<RequestDto>>map(requestId -> () -> {
+                    RequestStatusUpdate update = new RequestStatusUpdate(List.of(requestId), Status.CONFIRMED.name());
+                    return requestService.updateRequestStatus(initiatorId, event.getId(), update)
+                            .getConfirmedRequests().getFirst();
+                })
+                .toList();
+        List<Future<RequestDto>> results = runConcurrently(tasks);
+
+        assertEquals(LIMIT, countSucceeded(results));
+        assertEquals(LIMIT, requestRepository.findByEventIdAndStatus(event.getId(), Status.CONFIRMED).size());
+        assertEquals(LIMIT, eventRepository.getConfirmedRequests(event.getId()));
+    }
+
+    private <T> List<Future<T>> runConcurrently(List<Callable<T>> tasks) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<T>> futures = tasks.stream()
+                    .map(task -> executor.submit(() -> {
+                        start.await();
+                        return task.call();
+                    }))
+                    .toList();
+            start.countDown();
+            return futures;
+        }
+    }
+
+    private long countSucceeded(List<? extends Future<?>> results) throws InterruptedException {
+        long succeeded = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(RuleViolationException.class, e.getCause());
+            }
+        }
+        return succeeded;
+    }
+
+    private Event saveEvent(boolean requestModeration) {
+        User initiator = new User();
+        initiator.setName("Инициатор");
+        initiator.setEmail("initiator@mail.ru");
+        userRepository.save(initiator);
+
+        Category category = categoryRepository.save(Category.builder().name("Концерты").build());
+
+        return eventRepository.save(Event.builder()
+                .annotation("Аннотация популярного события")
+                .description("Описание популярного события")
+                .title("Популярное событие")
+                .category(category)
+                .initiator(initiator)
+                .location(new Location(55.75f, 37.62f))
+                .createdOn(LocalDateTime.now())
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .paid(false)
+                .participantLimit(LIMIT)
+                .requestModeration(requestModeration)
+                .state(State.PUBLISHED)
+                .build());
+    }
+
+    private List<User> saveUsers() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Участник " + i);
+            user.setEmail("participant" + i + "@mail.ru");
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+}
@@ -3,9 +3,13 @@ package ru.practicum.explorewithme;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {"ru.practicum.explorewithme", "ru.practicum.client"})
+@EnableScheduling
+@EnableRetry
 public class ExploreWithMeMainService {
     public static void main(String[] args) {
         SpringApplication.run(ExploreWithMeMainService.class, args);
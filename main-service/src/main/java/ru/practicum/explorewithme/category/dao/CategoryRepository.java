@@ -1,7 +1,18 @@
 package ru.practicum.explorewithme.category.dao;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.explorewithme.category.model.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    // Список категорий меняется редко: страница и count берутся из кэша запросов до изменения таблицы
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Category> findAll(Pageable pageable);
+
 }
@@ -1,10 +1,12 @@
 package ru.practicum.explorewithme.compilation.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.LongLongMap;
 import ru.practicum.StatsParams;
 import ru.practicum.StatsUtil;
 import ru.practicum.client.StatsClient;
@@ -19,12 +21,13 @@ import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.dto.EventShortDto;
 import ru.practicum.explorewithme.event.mapper.EventMapper;
 import ru.practicum.explorewithme.event.model.Event;
-import ru.practicum.explorewithme.request.dao.RequestRepository;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CompilationServiceImpl implements CompilationService {
@@ -33,7 +36,6 @@ public class CompilationServiceImpl implements CompilationService {
     private final CompilationMapper compilationMapper;
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
-    private final RequestRepository requestRepository;
     private final StatsClient statClient;
 
     /** === Public endpoints accessible to all users. === */
@@ -65,23 +67,19 @@ public class CompilationServiceImpl implements CompilationService {
                     .collect(Collectors.toList());
         }
 
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
+        // Просмотры собираются один раз на всю страницу, а не для каждой подборки
+        List<Long> eventIds = events.stream().map(Event::getId).distinct().toList();
+        LongLongMap views = getViews(eventIds);
 
         return compilations.stream()
-                .map(c -> {
-                    Set<EventShortDto> compilationEventDtos = getEventShortDtos(
-                            c.getEvents(),
-                            getConfirmedRequests(eventIds),
-                            getViews(eventIds)
-                    );
-                    return compilationMapper.toCompilationDto(c, compilationEventDtos);
-                })
+                .map(c -> compilationMapper.toCompilationDto(c,
+                        getEventShortDtos(c.getEvents(), views)))
                 .toList();
     }
 
     @Override
     public ResponseCompilationDto getCompilation(long compId) {
-        Compilation compilation = compilationRepository.findById(compId)
+        Compilation compilation = compilationRepository.findWithEventsById(compId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found"));
 
         if (compilation.getEvents().isEmpty()) {
@@ -92,7 +90,6 @@ public class CompilationServiceImpl implements CompilationService {
 
         Set<EventShortDto> eventShortDtos = getEventShortDtos(
                 compilation.getEvents(),
-                getConfirmedRequests(eventIds),
                 getViews(eventIds)
         );
 
@@ -121,7 +118,6 @@ public class CompilationServiceImpl implements CompilationService {
 
         Set<EventShortDto> eventShortDtos = getEventShortDtos(
                 events,
-                getConfirmedRequests(eventIds),
                 getViews(eventIds)
         );
 
@@ -151,7 +147,6 @@ public class CompilationServiceImpl implements CompilationService {
 
         Set<EventShortDto> eventShortDtos = getEventShortDtos(
                 events,
-                getConfirmedRequests(eventIds),
                 getViews(eventIds)
         );
 
@@ -170,26 +165,15 @@ public class CompilationServiceImpl implements CompilationService {
 
     /** === Private internal methods === */
 
-    private Map<Long, Long> getConfirmedRequests(List<Long> eventIds) {
-        return StatsUtil.getConfirmedRequestsMap(requestRepository.getConfirmedRequestsByEventIds(eventIds));
-    }
-
-    private Map<Long, Long> getViews(List<Long> eventIds) {
-        StatsParams statsParams = StatsUtil.buildStatsParams(
-                eventIds.stream()
-                        .map(id -> "/events/" + id)
-                        .toList(),
-                false
-        );
+    private LongLongMap getViews(List<Long> eventIds) {
+        StatsParams statsParams = StatsUtil.buildEntityStatsParams(StatsUtil.EVENT_ENTITY, eventIds, false);
 
         return StatsUtil.getViewsMap(statClient.getStats(statsParams));
     }
 
-    private Set<EventShortDto> getEventShortDtos(Set<Event> events, Map<Long, Long> confirmedRequests, Map<Long, Long> views) {
+    private Set<EventShortDto> getEventShortDtos(Set<Event> events, LongLongMap views) {
         return events.stream()
-                .map(event -> eventMapper.toEventShortDto(event,
-                        Optional.ofNullable(confirmedRequests.get(event.getId())).orElse(0L),
-                        Optional.ofNullable(views.get(event.getId())).orElse(0L)))
+                .map(event -> eventMapper.toEventShortDto(event, views.get(event.getId())))
                 .collect(Collectors.toSet());
     }
 
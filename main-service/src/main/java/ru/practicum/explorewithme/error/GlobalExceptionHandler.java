@@ -4,6 +4,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -38,6 +39,16 @@ public class GlobalExceptionHandler {
         return getResponseEntity(HttpStatus.CONFLICT, ex.getMessage(), "Data conflict", timestamp, stackTrace);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(final OptimisticLockingFailureException ex) {
+        log.warn("409 Conflict: {}", ex.getMessage());
+        String stackTrace = getStackTrace(ex);
+        String timestamp = getCurrentTimestamp();
+        return getResponseEntity(HttpStatus.CONFLICT, ex.getMessage(),
+                "The object was modified concurrently, reload it and retry.", timestamp, stackTrace);
+    }
+
     @ExceptionHandler(RuleViolationException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ResponseEntity<ApiError> handleRuleViolation(final RuleViolationException ex) {
@@ -30,6 +30,7 @@ public interface CommentMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "updated", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "status", expression = "java(Status.PENDING)")
     @Mapping(target = "created", expression = "java(LocalDateTime.now())")
     @Mapping(target = "event", source = "event")
@@ -37,9 +38,11 @@ public interface CommentMapper {
     Comment toComment(NewCommentDto newCommentDto, Event event, User author);
 
     @Mapping(target = "updated", expression = "java(LocalDateTime.now())")
+    @Mapping(target = "version", ignore = true)
     void updateCommentStatusFromDto(UpdateCommentDto commentDto, @MappingTarget Comment comment);
 
     @Mapping(target = "updated", expression = "java(LocalDateTime.now())")
+    @Mapping(target = "version", ignore = true)
     void updateCommentTextFromDto(NewCommentDto commentDto, @MappingTarget Comment comment);
 
 }
@@ -46,6 +46,10 @@ public class Comment {
     @Column(name = "status", nullable = false)
     private Status status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -1,11 +1,15 @@
 package ru.practicum.explorewithme.event.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.error.exception.NotFoundException;
@@ -17,10 +21,12 @@ import ru.practicum.explorewithme.event.comment.mapper.CommentMapper;
 import ru.practicum.explorewithme.event.comment.model.Comment;
 import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.enums.State;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 
 import java.util.List;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
@@ -71,8 +77,12 @@ public class AdminCommentServiceImpl implements AdminCommentService {
         return commentMapper.toResponseCommentDtos(comments);
     }
 
+    // Модерация лишь выставляет статус, поэтому при конфликте версий её можно повторить на свежих данных
     @Override
     @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${ewm.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${ewm.retry.delay-ms:50}", multiplier = 2))
     public void update(long eventId, long commentId, UpdateCommentDto commentDto) {
         log.info("Update comment with id={} and eventId={} with new data={}", commentId, eventId, commentDto);
 
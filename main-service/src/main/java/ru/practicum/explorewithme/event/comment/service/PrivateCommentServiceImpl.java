@@ -1,5 +1,6 @@
 package ru.practicum.explorewithme.event.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,10 +16,12 @@ import ru.practicum.explorewithme.event.comment.model.Comment;
 import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 import ru.practicum.explorewithme.user.dao.UserRepository;
 import ru.practicum.explorewithme.user.model.User;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
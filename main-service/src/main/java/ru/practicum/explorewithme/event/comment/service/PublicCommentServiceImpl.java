@@ -1,11 +1,13 @@
 package ru.practicum.explorewithme.event.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.error.exception.NotFoundException;
 import ru.practicum.explorewithme.event.comment.dao.CommentRepository;
 import ru.practicum.explorewithme.event.comment.dto.ResponseCommentDto;
@@ -14,12 +16,15 @@ import ru.practicum.explorewithme.event.comment.mapper.CommentMapper;
 import ru.practicum.explorewithme.event.comment.model.Comment;
 import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class PublicCommentServiceImpl implements PublicCommentService {
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.explorewithme.event.dto.AdminEventDto;
@@ -15,7 +16,6 @@ import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.service.AdminEventService;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
 
 @RestController
@@ -37,14 +37,15 @@ public class AdminEventController {
     }
 
     @GetMapping
-    public Collection<EventFullDto> getAllByParams(
+    public ResponseEntity<List<EventFullDto>> getAllByParams(
             @RequestParam(required = false) List<Long> users,
             @RequestParam(required = false) List<State> states,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-            @RequestParam(defaultValue = "10") @Positive Long size
+            @RequestParam(defaultValue = "10") @Positive Long size,
+            @RequestParam(required = false) String cursor
     ) {
         AdminEventDto params = AdminEventDto.builder()
                 .users(users)
@@ -54,9 +55,10 @@ public class AdminEventController {
                 .rangeEnd(rangeEnd)
                 .from(from)
                 .size(size)
+                .cursor(cursor)
                 .build();
 
         log.info("Запрос событий от администратора. Параметры запроса: {}", params.toString());
-        return adminEventService.getAllByParams(params);
+        return adminEventService.getAllByParams(params).toResponseEntity();
     }
 }
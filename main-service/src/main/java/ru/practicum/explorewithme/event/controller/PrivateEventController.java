@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.explorewithme.event.dto.EventFullDto;
@@ -13,7 +14,7 @@ import ru.practicum.explorewithme.event.dto.NewEventDto;
 import ru.practicum.explorewithme.event.dto.UpdateEventRequest;
 import ru.practicum.explorewithme.event.service.PrivateEventService;
 
-import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/users/{userId}/events")
@@ -45,13 +46,14 @@ public class PrivateEventController {
     }
 
     @GetMapping
-    public Collection<EventShortDto> getAll(
+    public ResponseEntity<List<EventShortDto>> getAll(
             @PathVariable @Positive Long userId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor
     ) {
         log.info("Получение списка событий созданных пользователем с ID {}", userId);
-        return privateEventService.getAll(userId, from, size);
+        return privateEventService.getAll(userId, from, size, cursor).toResponseEntity();
     }
 
     @GetMapping("/{eventId}")
@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.explorewithme.event.dto.EventFullDto;
@@ -24,7 +25,7 @@ public class PublicEventController {
     private final PublicEventService publicEventService;
 
     @GetMapping
-    public List<EventShortDto> getAllByParams(
+    public ResponseEntity<List<EventShortDto>> getAllByParams(
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) Boolean paid,
@@ -34,6 +35,7 @@ public class PublicEventController {
             @RequestParam(defaultValue = "EVENT_DATE") EventsSort eventsSort,
             @RequestParam(defaultValue = "0") int from,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request
     ) {
         EventParams params = EventParams.builder()
@@ -44,11 +46,12 @@ public class PublicEventController {
                 .rangeEnd(rangeEnd)
                 .onlyAvailable(onlyAvailable)
                 .eventsSort(eventsSort)
+                .cursor(cursor)
                 .from(from)
                 .size(size)
                 .build();
         log.info("Получение событий с параметрами: {}", params.toString());
-        return publicEventService.getAllByParams(params, request);
+        return publicEventService.getAllByParams(params, request).toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -1,23 +1,65 @@
 package ru.practicum.explorewithme.event.dao;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.model.Event;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventSliceRepository, EventViewsRepository {
 
-    Page<Event> findByInitiatorIdOrderByEventDateDesc(Long initiatorId, Pageable pageable);
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Optional<Event> findWithDetailsById(Long id);
 
+    @EntityGraph(attributePaths = {"category", "initiator"})
     Optional<Event> findByIdAndState(Long id, State state);
 
+    @EntityGraph(attributePaths = {"category", "initiator"})
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
+    @EntityGraph(attributePaths = {"category", "initiator"})
     Set<Event> findAllByIdIn(Set<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + :delta WHERE e.id = :eventId")
+    void addConfirmedRequests(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    // Проверка лимита и увеличение счётчика одним UPDATE: параллельные вызовы сериализуются блокировкой строки события
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + :seats " +
+            "WHERE e.id = :eventId " +
+            "AND (e.participantLimit = 0 OR e.confirmedRequests + :seats <= e.participantLimit)")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") long seats);
+
+    @Query("SELECT e.id FROM Event e WHERE e.state = :state AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsByStateAfter(@Param("state") State state, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT e.confirmedRequests FROM Event e WHERE e.id = :eventId")
+    long getConfirmedRequests(@Param("eventId") Long eventId);
+
+    // События, у которых счётчик разошёлся с числом подтверждённых заявок; чтение без блокировок
+    @Query("SELECT e.id FROM Event e WHERE e.confirmedRequests <> " +
+            "(SELECT COUNT(r) FROM Request r WHERE r.event = e AND r.status = 'CONFIRMED')")
+    List<Long> findIdsWithMismatchedConfirmedRequests();
+
+    // SELECT ... FOR UPDATE: ждёт транзакции, резервирующие места, и не даёт им начаться до конца пересчёта
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.confirmedRequests FROM Event e WHERE e.id = :eventId")
+    Optional<Long> lockConfirmedRequests(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = :confirmedRequests WHERE e.id = :eventId")
+    void setConfirmedRequests(@Param("eventId") Long eventId, @Param("confirmedRequests") long confirmedRequests);
 }
 
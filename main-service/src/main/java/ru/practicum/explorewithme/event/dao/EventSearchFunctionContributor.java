@@ -0,0 +1,42 @@
+package ru.practicum.explorewithme.event.dao;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.spi.TypeConfiguration;
+
+/**
+ * Функции полнотекстового поиска по annotation и description.
+ * На PostgreSQL выражение документа совпадает с индексом idx_events_fts из schema-postgresql.sql,
+ * на остальных БД (H2 в local-профиле) остаётся поиск подстроки.
+ */
+public class EventSearchFunctionContributor implements FunctionContributor {
+
+    public static final String TEXT_MATCH = "event_text_match";
+    public static final String TEXT_RANK = "event_text_rank";
+
+    private static final String DOCUMENT = "to_tsvector('russian', ?1 || ' ' || ?2)";
+    private static final String QUERY = "websearch_to_tsquery('russian', ?3)";
+    private static final String CONTAINS = "like ('%' || lower(?3) || '%')";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        TypeConfiguration typeConfiguration = functionContributions.getTypeConfiguration();
+        BasicType<Boolean> booleanType = typeConfiguration.getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = typeConfiguration.getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+
+        if (functionContributions.getDialect() instanceof PostgreSQLDialect) {
+            registry.registerPattern(TEXT_MATCH, "(" + DOCUMENT + " @@ " + QUERY + ")", booleanType);
+            registry.registerPattern(TEXT_RANK, "ts_rank(" + DOCUMENT + ", " + QUERY + ")", doubleType);
+        } else {
+            registry.registerPattern(TEXT_MATCH,
+                    "(lower(?1) " + CONTAINS + " or lower(?2) " + CONTAINS + ")", booleanType);
+            registry.registerPattern(TEXT_RANK,
+                    "(case when lower(?1) " + CONTAINS + " then 1.0 else 0.0 end)", doubleType);
+        }
+    }
+}
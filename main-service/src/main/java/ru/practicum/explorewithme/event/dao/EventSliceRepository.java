@@ -0,0 +1,15 @@
+package ru.practicum.explorewithme.event.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.explorewithme.event.dto.EventShortView;
+import ru.practicum.explorewithme.event.model.Event;
+
+public interface EventSliceRepository {
+
+    Slice<Event> findSlice(Specification<Event> specification, Pageable pageable);
+
+    Slice<EventShortView> findShortSlice(Specification<Event> specification, Pageable pageable);
+
+}
@@ -0,0 +1,86 @@
+package ru.practicum.explorewithme.event.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.explorewithme.category.model.Category;
+import ru.practicum.explorewithme.event.dto.EventShortView;
+import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.user.model.User;
+
+import java.util.List;
+
+/**
+ * В отличие от findAll(spec, pageable) не выполняет count: наличие следующей страницы
+ * определяется по лишней (size + 1) строке. Категория и инициатор, нужные мапперу,
+ * загружаются тем же запросом.
+ */
+public class EventSliceRepositoryImpl implements EventSliceRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<Event> findSlice(Specification<Event> specification, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        root.fetch("category");
+        root.fetch("initiator");
+
+        return slice(query.select(root), root, specification, pageable);
+    }
+
+    // Результат — не сущности: в контекст персистентности ничего не попадает, проверки изменений нет
+    @Override
+    public Slice<EventShortView> findShortSlice(Specification<Event> specification, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<EventShortView> query = cb.createQuery(EventShortView.class);
+        Root<Event> root = query.from(Event.class);
+        Join<Event, Category> category = root.join("category");
+        Join<Event, User> initiator = root.join("initiator");
+
+        query.select(cb.construct(EventShortView.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("annotation"),
+                category.get("id"),
+                category.get("name"),
+                root.get("eventDate"),
+                root.get("paid"),
+                initiator.get("id"),
+                initiator.get("name"),
+                root.get("confirmedRequests")));
+
+        return slice(query, root, specification, pageable);
+    }
+
+    private <T> Slice<T> slice(CriteriaQuery<T> query, Root<Event> root,
+                               Specification<Event> specification, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        List<T> rows = em.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -1,20 +1,46 @@
 package ru.practicum.explorewithme.event.dao;
 
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.explorewithme.event.dto.AdminEventDto;
+import ru.practicum.explorewithme.event.dto.EventCursor;
 import ru.practicum.explorewithme.event.dto.EventParams;
+import ru.practicum.explorewithme.event.enums.EventsSort;
 import ru.practicum.explorewithme.event.model.Event;
-import ru.practicum.explorewithme.request.enums.Status;
-import ru.practicum.explorewithme.request.model.Request;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class EventSpecifications {
 
+    public static Specification<Event> initiatorSpecification(Long initiatorId) {
+        return (root, query, cb) -> cb.equal(root.get("initiator").get("id"), initiatorId);
+    }
+
+    /**
+     * События строго после курсора в порядке (eventDate, id) с заданным направлением.
+     */
+    public static Specification<Event> afterCursor(EventCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(root.get("eventDate"), cursor.eventDate()),
+                        cb.and(cb.equal(root.get("eventDate"), cursor.eventDate()),
+                                cb.greaterThan(root.get("id"), cursor.id())));
+            }
+            return cb.or(
+                    cb.lessThan(root.get("eventDate"), cursor.eventDate()),
+                    cb.and(cb.equal(root.get("eventDate"), cursor.eventDate()),
+                            cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+
     public static Specification<Event> adminSpecification(AdminEventDto adminEventDto) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -47,11 +73,26 @@ public class EventSpecifications {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            if (params.getText() != null && !params.getText().isEmpty()) {
-                String searchPattern = "%" + params.getText().toLowerCase() + "%";
-                Predicate annotationPredicate = cb.like(cb.lower(root.get("annotation")), searchPattern);
-                Predicate descriptionPredicate = cb.like(cb.lower(root.get("description")), searchPattern);
-                predicates.add(cb.or(annotationPredicate, descriptionPredicate));
+            boolean hasText = params.getText() != null && !params.getText().isBlank();
+            // value() передаёт текст bind-параметром, literal() встроил бы его в SQL
+            Expression<String> text = hasText ? ((HibernateCriteriaBuilder) cb).value(params.getText()) : null;
+            if (hasText) {
+                predicates.add(cb.isTrue(cb.function(EventSearchFunctionContributor.TEXT_MATCH, Boolean.class,
+                        root.get("annotation"), root.get("description"), text)));
+            }
+
+            // Сортировка по релевантности задаётся здесь: в Sort её не выразить через свойство сущности.
+            // id в конце, как и в EventsSort: без него страницы с равными рангом и датой перекрываются
+            if (params.getEventsSort() == EventsSort.RELEVANCE) {
+                if (hasText) {
+                    query.orderBy(
+                            cb.desc(cb.function(EventSearchFunctionContributor.TEXT_RANK, Double.class,
+                                    root.get("annotation"), root.get("description"), text)),
+                            cb.asc(root.get("eventDate")),
+                            cb.asc(root.get("id")));
+                } else {
+                    query.orderBy(cb.asc(root.get("eventDate")), cb.asc(root.get("id")));
+                }
             }
 
             if (params.getCategories() != null) {
@@ -71,13 +112,11 @@ public class EventSpecifications {
             }
 
             if (params.getOnlyAvailable()) {
-                Join<Event, Request> requestJoin = root.join("requests", JoinType.LEFT);
-                requestJoin.on(cb.equal(requestJoin.get("status"), Status.CONFIRMED));
-                query.groupBy(root.get("id"));
-
                 Predicate unlimitedPredicate = cb.equal(root.get("participantLimit"), 0);
-                Predicate hasFreeSeatsPredicate = cb.greaterThan(root.get("participantLimit"), cb.count(requestJoin));
-                query.having(cb.or(unlimitedPredicate, hasFreeSeatsPredicate));
+                Predicate hasFreeSeatsPredicate = cb.lessThan(
+                        root.<Long>get("confirmedRequests"),
+                        root.<Integer>get("participantLimit").as(Long.class));
+                predicates.add(cb.or(unlimitedPredicate, hasFreeSeatsPredicate));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
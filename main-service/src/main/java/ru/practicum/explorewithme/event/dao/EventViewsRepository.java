@@ -0,0 +1,16 @@
+package ru.practicum.explorewithme.event.dao;
+
+import ru.practicum.LongLongMap;
+
+import java.util.List;
+
+public interface EventViewsRepository {
+
+    /**
+     * Записывает просмотры событий одним JDBC-пакетом; строки, где значение не изменилось, не трогаются.
+     *
+     * @return число обновлённых событий
+     */
+    int updateViews(List<Long> eventIds, LongLongMap views);
+
+}
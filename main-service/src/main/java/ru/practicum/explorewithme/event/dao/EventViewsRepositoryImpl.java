@@ -0,0 +1,34 @@
+package ru.practicum.explorewithme.event.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.LongLongMap;
+
+import java.util.List;
+
+/**
+ * Пакет уходит в базу за один обмен вместо отдельного UPDATE на каждое событие.
+ * Запрос идёт мимо контекста персистентности, как и прежний @Modifying UPDATE.
+ */
+@RequiredArgsConstructor
+public class EventViewsRepositoryImpl implements EventViewsRepository {
+
+    private static final String UPDATE_VIEWS = "UPDATE events SET views = ? WHERE id = ? AND views <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int updateViews(List<Long> eventIds, LongLongMap views) {
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_VIEWS, eventIds, eventIds.size(), (ps, eventId) -> {
+            long eventViews = views.get(eventId);
+            ps.setLong(1, eventViews);
+            ps.setLong(2, eventId);
+            ps.setLong(3, eventViews);
+        })[0];
+        int updated = 0;
+        for (int count : counts) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+}
@@ -25,4 +25,6 @@ public class AdminEventDto {
 
     Long size;
 
+    String cursor;
+
 }
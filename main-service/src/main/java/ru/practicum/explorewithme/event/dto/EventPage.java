@@ -0,0 +1,29 @@
+package ru.practicum.explorewithme.event.dto;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Страница событий и курсор следующей страницы (null, если страница последняя).
+ * viewsDegraded означает, что сервис статистики не ответил вовремя и просмотры отданы нулями.
+ */
+public record EventPage<T>(List<T> events, String nextCursor, boolean viewsDegraded) {
+
+    public static final String VIEWS_DEGRADED_HEADER = "X-Views-Degraded";
+
+    public EventPage(List<T> events, String nextCursor) {
+        this(events, nextCursor, false);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(EventCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        if (viewsDegraded) {
+            response.header(VIEWS_DEGRADED_HEADER, "true");
+        }
+        return response.body(events);
+    }
+}
@@ -18,6 +18,7 @@ public class EventParams {
     LocalDateTime rangeEnd;
     Boolean onlyAvailable;
     EventsSort eventsSort;
+    String cursor;
     int from;
     int size;
 }
@@ -0,0 +1,18 @@
+package ru.practicum.explorewithme.event.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка событий: только колонки, нужные для EventShortDto, без описания и без загрузки сущностей.
+ */
+public record EventShortView(Long id,
+                             String title,
+                             String annotation,
+                             Long categoryId,
+                             String categoryName,
+                             LocalDateTime eventDate,
+                             Boolean paid,
+                             Long initiatorId,
+                             String initiatorName,
+                             Long confirmedRequests) {
+}
@@ -3,18 +3,19 @@ package ru.practicum.explorewithme.event.enums;
 import org.springframework.data.domain.Sort;
 
 public enum EventsSort {
-    EVENT_DATE("eventDate", Sort.Direction.ASC),
-    VIEWS("views", Sort.Direction.DESC);
+    // id делает порядок однозначным, на нём держится курсорная пагинация
+    EVENT_DATE(Sort.by(Sort.Direction.ASC, "eventDate", "id")),
+    VIEWS(Sort.by(Sort.Direction.DESC, "views").and(Sort.by(Sort.Direction.ASC, "id"))),
+    // порядок задаёт EventSpecifications, так как ранг вычисляется в запросе
+    RELEVANCE(Sort.unsorted());
 
-    private final String name;
-    private final Sort.Direction direction;
+    private final Sort sort;
 
-    EventsSort(String name, Sort.Direction direction) {
-        this.name = name;
-        this.direction = direction;
+    EventsSort(Sort sort) {
+        this.sort = sort;
     }
 
     public Sort getSort() {
-        return Sort.by(this.direction, this.name);
+        return sort;
     }
 }
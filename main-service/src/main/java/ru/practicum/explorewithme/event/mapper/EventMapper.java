@@ -6,6 +6,7 @@ import ru.practicum.explorewithme.category.mapper.CategoryMapper;
 import ru.practicum.explorewithme.category.model.Category;
 import ru.practicum.explorewithme.event.dto.EventFullDto;
 import ru.practicum.explorewithme.event.dto.EventShortDto;
+import ru.practicum.explorewithme.event.dto.EventShortView;
 import ru.practicum.explorewithme.event.dto.NewEventDto;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.model.Event;
@@ -21,17 +22,25 @@ public interface EventMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "publishedOn", ignore = true)
+    @Mapping(target = "confirmedRequests", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "state", expression = "java(State.PENDING)")
     @Mapping(target = "createdOn", expression = "java(LocalDateTime.now())")
     @Mapping(target = "category", source = "category")
     Event toEvent(NewEventDto newEventDto, User initiator, Category category);
 
-    @Mapping(target = "confirmedRequests", expression = "java(confirmedRequests != null ? confirmedRequests : 0L)")
     @Mapping(target = "views", expression = "java(views != null ? views : 0L)")
     @Mapping(target = "state", expression = "java(String.valueOf(event.getState()))")
-    EventFullDto toEventFullDto(Event event, Long confirmedRequests, Long views);
+    EventFullDto toEventFullDto(Event event, Long views);
 
-    @Mapping(target = "confirmedRequests", expression = "java(confirmedRequests != null ? confirmedRequests : 0L)")
     @Mapping(target = "views", expression = "java(views != null ? views : 0L)")
-    EventShortDto toEventShortDto(Event event, Long confirmedRequests, Long views);
+    EventShortDto toEventShortDto(Event event, Long views);
+
+    @Mapping(target = "category.id", source = "view.categoryId")
+    @Mapping(target = "category.name", source = "view.categoryName")
+    @Mapping(target = "initiator.id", source = "view.initiatorId")
+    @Mapping(target = "initiator.name", source = "view.initiatorName")
+    @Mapping(target = "views", expression = "java(views != null ? views : 0L)")
+    EventShortDto toEventShortDto(EventShortView view, Long views);
 }
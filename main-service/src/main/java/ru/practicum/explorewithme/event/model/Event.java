@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import ru.practicum.explorewithme.category.model.Category;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.user.model.User;
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "events")
+@DynamicUpdate
 @Getter
 @Setter
 @ToString
@@ -84,6 +86,22 @@ public class Event {
     @Column(name = "published_on")
     private LocalDateTime publishedOn;
 
+    // Меняется только атомарными UPDATE при смене статуса заявок, см. EventRepository
+    @Column(name = "confirmed_requests", nullable = false)
+    @Builder.Default
+    private Long confirmedRequests = 0L;
+
+    // Копия просмотров из сервиса статистики для сортировки по популярности, см. EventViewsSynchronizer
+    @Column(name = "views", nullable = false)
+    @Builder.Default
+    private Long views = 0L;
+
+    // Счётчики выше меняются UPDATE-запросами без увеличения версии: благодаря @DynamicUpdate
+    // правка события их не перезаписывает, и конфликтом это не считается
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
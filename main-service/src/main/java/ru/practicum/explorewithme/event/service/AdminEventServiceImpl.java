@@ -1,11 +1,16 @@
 package ru.practicum.explorewithme.event.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.LongLongMap;
 import ru.practicum.StatsParams;
 import ru.practicum.StatsUtil;
 import ru.practicum.StatsView;
@@ -18,23 +23,24 @@ import ru.practicum.explorewithme.error.exception.RuleViolationException;
 import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.dao.EventSpecifications;
 import ru.practicum.explorewithme.event.dto.AdminEventDto;
+import ru.practicum.explorewithme.event.dto.EventCursor;
 import ru.practicum.explorewithme.event.dto.EventFullDto;
+import ru.practicum.explorewithme.event.dto.EventPage;
 import ru.practicum.explorewithme.event.dto.UpdateEventRequest;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.enums.StateAction;
 import ru.practicum.explorewithme.event.mapper.EventMapper;
 import ru.practicum.explorewithme.event.mapper.LocationMapper;
 import ru.practicum.explorewithme.event.model.Event;
-import ru.practicum.explorewithme.request.dao.RequestRepository;
-import ru.practicum.explorewithme.request.enums.Status;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
@@ -42,14 +48,13 @@ public class AdminEventServiceImpl implements AdminEventService {
 
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
-    private final RequestRepository requestRepository;
     private final StatsClient statsClient;
     private final EventMapper eventMapper;
     private final LocationMapper locationMapper;
 
     @Override
     public EventFullDto update(Long eventId, UpdateEventRequest updateEventRequest) throws RuleViolationException {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithDetailsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие с ID " + eventId + " не найдено"));
 
         if (updateEventRequest.getCategory() != null) {
@@ -99,14 +104,14 @@ public class AdminEventServiceImpl implements AdminEventService {
         }
 
         eventRepository.save(event);
-        Long confirmedRequests = requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
 
         if (event.getPublishedOn() == null) {
-            return eventMapper.toEventFullDto(event, confirmedRequests, 0L);
+            return eventMapper.toEventFullDto(event, 0L);
         }
 
-        StatsParams params = StatsUtil.buildStatsParams(
-                Collections.singletonList("/events/" + eventId),
+        StatsParams params = StatsUtil.buildEntityStatsParams(
+                StatsUtil.EVENT_ENTITY,
+                List.of(eventId),
                 false,
                 event.getPublishedOn()
         );
@@ -116,34 +121,44 @@ public class AdminEventServiceImpl implements AdminEventService {
                 .sum();
 
         log.info("Администратором обновлено событие c ID {}.", event.getId());
-        return eventMapper.toEventFullDto(event, confirmedRequests, views);
+        return eventMapper.toEventFullDto(event, views);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EventFullDto> getAllByParams(AdminEventDto adminEventDto) {
-        Pageable pageable = PageRequest.of(
-                adminEventDto.getFrom().intValue() / adminEventDto.getSize().intValue(),
-                adminEventDto.getSize().intValue()
-        );
-        List<Event> events = eventRepository.findAll(EventSpecifications.adminSpecification(adminEventDto), pageable).getContent();
+    public EventPage<EventFullDto> getAllByParams(AdminEventDto adminEventDto) {
+        Sort sort = Sort.by(Sort.Direction.ASC, "eventDate", "id");
+        Specification<Event> specification = EventSpecifications.adminSpecification(adminEventDto);
+        Pageable pageable;
+        if (adminEventDto.getCursor() != null) {
+            EventCursor cursor = EventCursor.decode(adminEventDto.getCursor());
+            specification = specification.and(EventSpecifications.afterCursor(cursor, Sort.Direction.ASC));
+            pageable = PageRequest.of(0, adminEventDto.getSize().intValue(), sort);
+        } else {
+            pageable = PageRequest.of(
+                    adminEventDto.getFrom().intValue() / adminEventDto.getSize().intValue(),
+                    adminEventDto.getSize().intValue(),
+                    sort
+            );
+        }
+        Slice<Event> slice = eventRepository.findSlice(specification, pageable);
+        List<Event> events = slice.getContent();
+
+        if (events.isEmpty()) {
+            log.info("Администратором не найдено событий по параметрам {}", adminEventDto);
+            return new EventPage<>(Collections.emptyList(), null);
+        }
 
         List<Long> eventIds = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmedRequestsMap = StatsUtil.getConfirmedRequestsMap(requestRepository.getConfirmedRequestsByEventIds(eventIds));
 
-        StatsParams params = StatsUtil.buildStatsParams(
-                eventIds.stream()
-                        .map(id -> "/events/" + id)
-                        .toList(),
-                false
-        );
+        StatsParams params = StatsUtil.buildEntityStatsParams(StatsUtil.EVENT_ENTITY, eventIds, false);
 
-        Map<Long, Long> viewsMap = StatsUtil.getViewsMap(statsClient.getStats(params));
+        LongLongMap viewsMap = StatsUtil.getViewsMap(statsClient.getStats(params));
 
         List<EventFullDto> result = events.stream()
-                .map(e -> eventMapper.toEventFullDto(e, confirmedRequestsMap.get(e.getId()), viewsMap.get(e.getId())))
+                .map(e -> eventMapper.toEventFullDto(e, viewsMap.get(e.getId())))
                 .toList();
         log.info("Администратором получена информация о {} событиях.", result.size());
-        return result;
+        return new EventPage<>(result, slice.hasNext() ? EventCursor.of(events.getLast()).encode() : null);
     }
 }
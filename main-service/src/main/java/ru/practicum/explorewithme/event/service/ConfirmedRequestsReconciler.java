@@ -0,0 +1,69 @@
+package ru.practicum.explorewithme.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.explorewithme.event.dao.EventRepository;
+import ru.practicum.explorewithme.request.dao.RequestRepository;
+import ru.practicum.explorewithme.request.enums.Status;
+
+import java.util.List;
+
+/**
+ * При старте и далее периодически сверяет счётчик подтверждённых заявок в events с таблицей requests
+ * и исправляет расхождения (старые данные, ручные правки в БД). Каждое событие пересчитывается
+ * в своей транзакции под блокировкой строки, поэтому параллельное резервирование мест
+ * не может проскочить между подсчётом и записью.
+ */
+@Component
+@Slf4j
+public class ConfirmedRequestsReconciler {
+
+    private final EventRepository eventRepository;
+    private final RequestRepository requestRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ConfirmedRequestsReconciler(EventRepository eventRepository,
+                                       RequestRepository requestRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.requestRepository = requestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.confirmed-requests.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        int fixed = 0;
+        try {
+            List<Long> eventIds = eventRepository.findIdsWithMismatchedConfirmedRequests();
+            for (Long eventId : eventIds) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(eventId)))) {
+                    fixed++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сверить счётчики подтверждённых заявок: {}", e.getMessage());
+            return;
+        }
+        if (fixed > 0) {
+            log.warn("Счётчик подтверждённых заявок исправлен у {} событий", fixed);
+        } else {
+            log.debug("Счётчики подтверждённых заявок совпадают с заявками");
+        }
+    }
+
+    private boolean reconcile(Long eventId) {
+        Long current = eventRepository.lockConfirmedRequests(eventId).orElse(null);
+        if (current == null) {
+            return false;
+        }
+        long confirmed = requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
+        if (confirmed == current) {
+            return false;
+        }
+        eventRepository.setConfirmedRequests(eventId, confirmed);
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.explorewithme.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.LongLongMap;
+import ru.practicum.StatsParams;
+import ru.practicum.StatsUtil;
+import ru.practicum.client.StatsClient;
+import ru.practicum.explorewithme.event.dao.EventRepository;
+import ru.practicum.explorewithme.event.enums.State;
+
+import java.util.List;
+
+/**
+ * Переносит число просмотров опубликованных событий из сервиса статистики в events.views,
+ * по которому индексом выполняется сортировка VIEWS. Просмотры считаются так же,
+ * как в списке событий: без учёта уникальности IP.
+ */
+@Component
+@Slf4j
+public class EventViewsSynchronizer {
+
+    private final EventRepository eventRepository;
+    private final StatsClient statsClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public EventViewsSynchronizer(EventRepository eventRepository,
+                                  StatsClient statsClient,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ewm.views.sync-batch-size:500}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.statsClient = statsClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${ewm.views.sync-interval-ms:60000}",
+            fixedDelayString = "${ewm.views.sync-interval-ms:60000}")
+    public void synchronize() {
+        long afterId = 0;
+        int updated = 0;
+        try {
+            List<Long> eventIds;
+            do {
+                eventIds = eventRepository.findIdsByStateAfter(State.PUBLISHED, afterId, Limit.of(batchSize));
+                if (eventIds.isEmpty()) {
+                    break;
+                }
+                updated += synchronizeBatch(eventIds);
+                afterId = eventIds.getLast();
+            } while (eventIds.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось синхронизировать просмотры событий после ID {}: {}", afterId, e.getMessage());
+            return;
+        }
+        log.debug("Синхронизация просмотров завершена, обновлено {} событий", updated);
+    }
+
+    private int synchronizeBatch(List<Long> eventIds) {
+        StatsParams params = StatsUtil.buildEntityStatsParams(StatsUtil.EVENT_ENTITY, eventIds, false);
+        LongLongMap views = StatsUtil.getViewsMap(statsClient.getStats(params));
+
+        Integer updated = transactionTemplate.execute(status -> eventRepository.updateViews(eventIds, views));
+        return updated == null ? 0 : updated;
+    }
+}
@@ -1,12 +1,11 @@
 package ru.practicum.explorewithme.event.service;
 
 import ru.practicum.explorewithme.event.dto.EventFullDto;
+import ru.practicum.explorewithme.event.dto.EventPage;
 import ru.practicum.explorewithme.event.dto.EventShortDto;
 import ru.practicum.explorewithme.event.dto.NewEventDto;
 import ru.practicum.explorewithme.event.dto.UpdateEventRequest;
 
-import java.util.List;
-
 public interface PrivateEventService {
 
     EventFullDto create(Long userId, NewEventDto newEventDto);
@@ -15,6 +14,6 @@ public interface PrivateEventService {
 
     EventFullDto getById(Long userId, Long eventId);
 
-    List<EventShortDto> getAll(Long userId, int from, int size);
+    EventPage<EventShortDto> getAll(Long userId, int from, int size, String cursor);
 
 }
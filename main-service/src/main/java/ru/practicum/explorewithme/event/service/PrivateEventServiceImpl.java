@@ -1,11 +1,16 @@
 package ru.practicum.explorewithme.event.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.LongLongMap;
 import ru.practicum.StatsParams;
 import ru.practicum.StatsUtil;
 import ru.practicum.StatsView;
@@ -16,8 +21,12 @@ import ru.practicum.explorewithme.error.exception.BadRequestException;
 import ru.practicum.explorewithme.error.exception.NotFoundException;
 import ru.practicum.explorewithme.error.exception.RuleViolationException;
 import ru.practicum.explorewithme.event.dao.EventRepository;
+import ru.practicum.explorewithme.event.dao.EventSpecifications;
+import ru.practicum.explorewithme.event.dto.EventCursor;
 import ru.practicum.explorewithme.event.dto.EventFullDto;
+import ru.practicum.explorewithme.event.dto.EventPage;
 import ru.practicum.explorewithme.event.dto.EventShortDto;
+import ru.practicum.explorewithme.event.dto.EventShortView;
 import ru.practicum.explorewithme.event.dto.NewEventDto;
 import ru.practicum.explorewithme.event.dto.UpdateEventRequest;
 import ru.practicum.explorewithme.event.enums.State;
@@ -25,18 +34,16 @@ import ru.practicum.explorewithme.event.enums.StateAction;
 import ru.practicum.explorewithme.event.mapper.EventMapper;
 import ru.practicum.explorewithme.event.mapper.LocationMapper;
 import ru.practicum.explorewithme.event.model.Event;
-import ru.practicum.explorewithme.request.dao.RequestRepository;
-import ru.practicum.explorewithme.request.enums.Status;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 import ru.practicum.explorewithme.user.dao.UserRepository;
 import ru.practicum.explorewithme.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
@@ -45,7 +52,6 @@ public class PrivateEventServiceImpl implements PrivateEventService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
-    private final RequestRepository requestRepository;
     private final StatsClient statsClient;
     private final EventMapper eventMapper;
     private final LocationMapper locationMapper;
@@ -64,14 +70,14 @@ public class PrivateEventServiceImpl implements PrivateEventService {
         Event newEvent = eventMapper.toEvent(newEventDto, initiator, category);
         eventRepository.save(newEvent);
         log.info("Событие c ID {} создано пользователем с ID {}.", newEvent.getId(), userId);
-        return eventMapper.toEventFullDto(newEvent, 0L, 0L);
+        return eventMapper.toEventFullDto(newEvent, 0L);
     }
 
     @Override
     public EventFullDto update(Long userId, Long eventId, UpdateEventRequest updateEventRequest) {
         User initiator = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден."));
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithDetailsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие с ID " + eventId + " не найдено"));
 
         if (!Objects.equals(initiator.getId(), event.getInitiator().getId())) {
@@ -139,14 +145,13 @@ public class PrivateEventServiceImpl implements PrivateEventService {
 
         log.info("Событие с ID {} обновлено пользователем с ID {}.", eventId, userId);
 
-        Long confirmedRequests = requestRepository.countByEventIdAndStatus(event.getId(), Status.CONFIRMED);
-
         if (event.getPublishedOn() == null) {
-            return eventMapper.toEventFullDto(event, confirmedRequests, 0L);
+            return eventMapper.toEventFullDto(event, 0L);
         }
 
-        StatsParams params = StatsUtil.buildStatsParams(
-                Collections.singletonList("/events/" + eventId),
+        StatsParams params = StatsUtil.buildEntityStatsParams(
+                StatsUtil.EVENT_ENTITY,
+                List.of(eventId),
                 false,
                 event.getPublishedOn()
         );
@@ -155,7 +160,7 @@ public class PrivateEventServiceImpl implements PrivateEventService {
                 .mapToLong(StatsView::getHits)
                 .sum();
 
-        return eventMapper.toEventFullDto(event, confirmedRequests, views);
+        return eventMapper.toEventFullDto(event, views);
     }
 
     @Override
@@ -163,21 +168,20 @@ public class PrivateEventServiceImpl implements PrivateEventService {
     public EventFullDto getById(Long userId, Long eventId) {
         User initiator = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден."));
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithDetailsById(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие с ID " + eventId + " не найдено"));
 
         if (!Objects.equals(initiator.getId(), event.getInitiator().getId())) {
             log.error("Пользователь с ID {} пытается получить чужое событие с ID {}", userId, eventId);
             throw new RuleViolationException("Пользователь с ID " + userId + " не является инициатором события c ID " + eventId);
         }
-        Long confirmedRequests = requestRepository.countByEventIdAndStatus(event.getId(), Status.CONFIRMED);
-
         if (event.getPublishedOn() == null) {
-            return eventMapper.toEventFullDto(event, confirmedRequests, 0L);
+            return eventMapper.toEventFullDto(event, 0L);
         }
 
-        StatsParams params = StatsUtil.buildStatsParams(
-                Collections.singletonList("/events/" + eventId),
+        StatsParams params = StatsUtil.buildEntityStatsParams(
+                StatsUtil.EVENT_ENTITY,
+                List.of(eventId),
                 false,
                 event.getPublishedOn()
         );
@@ -186,34 +190,39 @@ public class PrivateEventServiceImpl implements PrivateEventService {
                 .mapToLong(StatsView::getHits)
                 .sum();
 
-        return eventMapper.toEventFullDto(event, confirmedRequests, views);
+        return eventMapper.toEventFullDto(event, views);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EventShortDto> getAll(Long userId, int from, int size) {
+    public EventPage<EventShortDto> getAll(Long userId, int from, int size, String cursor) {
         log.info("Поиск пользователя с ID {}.", userId);
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
 
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Event> events = eventRepository.findByInitiatorIdOrderByEventDateDesc(userId, pageable).stream().toList();
+        Sort sort = Sort.by(Sort.Direction.DESC, "eventDate", "id");
+        Specification<Event> specification = EventSpecifications.initiatorSpecification(userId);
+        Pageable pageable;
+        if (cursor != null) {
+            specification = specification.and(
+                    EventSpecifications.afterCursor(EventCursor.decode(cursor), Sort.Direction.DESC));
+            pageable = PageRequest.of(0, size, sort);
+        } else {
+            pageable = PageRequest.of(from / size, size, sort);
+        }
+        Slice<EventShortView> slice = eventRepository.findShortSlice(specification, pageable);
+        List<EventShortView> events = slice.getContent();
 
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmedRequestsMap = StatsUtil.getConfirmedRequestsMap(requestRepository.getConfirmedRequestsByEventIds(eventIds));
+        List<Long> eventIds = events.stream().map(EventShortView::id).toList();
 
-        StatsParams params = StatsUtil.buildStatsParams(
-                eventIds.stream()
-                        .map(id -> "/events/" + id)
-                        .toList(),
-                false
-        );
+        StatsParams params = StatsUtil.buildEntityStatsParams(StatsUtil.EVENT_ENTITY, eventIds, false);
 
-        Map<Long, Long> viewsMap = StatsUtil.getViewsMap(statsClient.getStats(params));
+        LongLongMap viewsMap = StatsUtil.getViewsMap(statsClient.getStats(params));
 
-        return events.stream()
-                .map(e -> eventMapper.toEventShortDto(e, confirmedRequestsMap.get(e.getId()), viewsMap.get(e.getId())))
+        List<EventShortDto> result = events.stream()
+                .map(e -> eventMapper.toEventShortDto(e, viewsMap.get(e.id())))
                 .toList();
+        return new EventPage<>(result, slice.hasNext() ? EventCursor.of(events.getLast()).encode() : null);
     }
 }
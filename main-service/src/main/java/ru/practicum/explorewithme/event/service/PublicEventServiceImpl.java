@@ -1,13 +1,17 @@
 package ru.practicum.explorewithme.event.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.LongLongMap;
 import ru.practicum.StatsDto;
 import ru.practicum.StatsParams;
 import ru.practicum.StatsUtil;
@@ -17,34 +21,52 @@ import ru.practicum.explorewithme.error.exception.BadRequestException;
 import ru.practicum.explorewithme.error.exception.NotFoundException;
 import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.dao.EventSpecifications;
+import ru.practicum.explorewithme.event.dto.EventCursor;
 import ru.practicum.explorewithme.event.dto.EventFullDto;
+import ru.practicum.explorewithme.event.dto.EventPage;
 import ru.practicum.explorewithme.event.dto.EventParams;
 import ru.practicum.explorewithme.event.dto.EventShortDto;
+import ru.practicum.explorewithme.event.dto.EventShortView;
+import ru.practicum.explorewithme.event.enums.EventsSort;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.mapper.EventMapper;
 import ru.practicum.explorewithme.event.model.Event;
-import ru.practicum.explorewithme.request.dao.RequestRepository;
-import ru.practicum.explorewithme.request.enums.Status;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
+/**
+ * Транзакция охватывает только чтение из БД: обращения к сервису статистики идут после её завершения,
+ * чтобы медленная статистика не удерживала соединение из пула.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class PublicEventServiceImpl implements PublicEventService {
 
     private final StatsClient statClient;
+    private final StatsFanOut statsFanOut;
     private final EventRepository eventRepository;
-    private final RequestRepository requestRepository;
     private final EventMapper eventMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PublicEventServiceImpl(StatsClient statClient,
+                                  StatsFanOut statsFanOut,
+                                  EventRepository eventRepository,
+                                  EventMapper eventMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.statClient = statClient;
+        this.statsFanOut = statsFanOut;
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @Override
-    public List<EventShortDto> getAllByParams(EventParams params, HttpServletRequest request) {
+    public EventPage<EventShortDto> getAllByParams(EventParams params, HttpServletRequest request) {
 
         if (params.getRangeStart() != null && params.getRangeEnd() != null && params.getRangeEnd().isBefore(params.getRangeStart())) {
             log.error("Ошибка в параметрах диапазона дат: start={}, end={}", params.getRangeStart(), params.getRangeEnd());
@@ -53,55 +75,70 @@ public class PublicEventServiceImpl implements PublicEventService {
 
         if (params.getRangeStart() == null) params.setRangeStart(LocalDateTime.now());
 
+        // Хит не влияет на выборку, поэтому отправляется параллельно с запросами и не задерживает ответ
+        statsFanOut.hit(buildStatsDto(request));
+
         Sort sort = params.getEventsSort().getSort();
 
-        Pageable pageable = PageRequest.of(params.getFrom() / params.getSize(), params.getSize(), sort);
-        List<Event> events = eventRepository.findAll(EventSpecifications.publicSpecification(params), pageable).stream().toList();
+        Specification<Event> specification = EventSpecifications.publicSpecification(params);
+        Pageable pageable;
+        if (params.getCursor() != null) {
+            if (params.getEventsSort() != EventsSort.EVENT_DATE) {
+                throw new BadRequestException("Курсор поддерживается только для сортировки EVENT_DATE");
+            }
+            EventCursor cursor = EventCursor.decode(params.getCursor());
+            specification = specification.and(EventSpecifications.afterCursor(cursor, Sort.Direction.ASC));
+            pageable = PageRequest.of(0, params.getSize(), sort);
+        } else {
+            pageable = PageRequest.of(params.getFrom() / params.getSize(), params.getSize(), sort);
+        }
+        Specification<Event> pageSpecification = specification;
+        Slice<EventShortView> slice = readOnlyTransaction.execute(status ->
+                eventRepository.findShortSlice(pageSpecification, pageable));
+        List<EventShortView> events = slice.getContent();
 
         if (events.isEmpty()) {
             log.warn("Нет событий по указанным параметрам {}", params);
-            return Collections.emptyList();
+            return new EventPage<>(Collections.emptyList(), null);
         }
 
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
-
-        Map<Long, Long> confirmedRequests = StatsUtil.getConfirmedRequestsMap(requestRepository.getConfirmedRequestsByEventIds(eventIds));
-
-        buildStatsDtoAndHit(request);
+        List<Long> eventIds = events.stream().map(EventShortView::id).toList();
 
-        StatsParams statsParams = StatsUtil.buildStatsParams(
-                eventIds.stream()
-                        .map(id -> "/events/" + id)
-                        .toList(),
-                false
-        );
-
-        Map<Long, Long> views = StatsUtil.getViewsMap(statClient.getStats(statsParams));
+        LongLongMap views = statsFanOut.views(eventIds)
+                .exceptionally(e -> {
+                    log.warn("Просмотры не получены, события отданы без них: {}", e.toString());
+                    return null;
+                })
+                .join();
+        boolean viewsDegraded = views == null;
+        LongLongMap eventViews = viewsDegraded ? new LongLongMap() : views;
 
         List<EventShortDto> result = events.stream()
-                .map(event -> eventMapper.toEventShortDto(event,
-                        Optional.ofNullable(confirmedRequests.get(event.getId())).orElse(0L),
-                        Optional.ofNullable(views.get(event.getId())).orElse(0L)))
+                .map(event -> eventMapper.toEventShortDto(event, eventViews.get(event.id())))
                 .toList();
         log.info("Метод вернул {} событий.", result.size());
-        return result;
+        String nextCursor = slice.hasNext() && params.getEventsSort() == EventsSort.EVENT_DATE
+                ? EventCursor.of(events.getLast()).encode()
+                : null;
+        return new EventPage<>(result, nextCursor, viewsDegraded);
     }
 
     @Override
     public EventFullDto getById(Long eventId, HttpServletRequest request) {
-        Event event = eventRepository.findByIdAndState(eventId, State.PUBLISHED)
+        Event event = readOnlyTransaction.execute(status -> eventRepository.findByIdAndState(eventId, State.PUBLISHED))
                 .orElseThrow(() -> new NotFoundException("Событие не найдено."));
 
-        Long confirmedRequests = requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
-
-        buildStatsDtoAndHit(request);
+        // Синхронно: просмотры ниже должны уже учитывать этот запрос
+        statClient.hit(buildStatsDto(request));
+        log.info("Статистика сохранена.");
 
         if (event.getPublishedOn() == null) {
-            return eventMapper.toEventFullDto(event, confirmedRequests, 0L);
+            return eventMapper.toEventFullDto(event, 0L);
         }
 
-        StatsParams params = StatsUtil.buildStatsParams(
-                Collections.singletonList("/events/" + eventId),
+        StatsParams params = StatsUtil.buildEntityStatsParams(
+                StatsUtil.EVENT_ENTITY,
+                List.of(eventId),
                 true,
                 event.getPublishedOn()
         );
@@ -110,12 +147,12 @@ public class PublicEventServiceImpl implements PublicEventService {
                 .mapToLong(StatsView::getHits)
                 .sum();
 
-        EventFullDto dto = eventMapper.toEventFullDto(event, confirmedRequests, views);
+        EventFullDto dto = eventMapper.toEventFullDto(event, views);
         log.debug("Получено событие с ID={}: {}", eventId, dto);
         return dto;
     }
 
-    private void buildStatsDtoAndHit(HttpServletRequest request) {
+    private StatsDto buildStatsDto(HttpServletRequest request) {
         String ip = StatsUtil.getIpAddressOrDefault(request.getRemoteAddr());
 
         log.debug("Получен IP-адрес: {}", ip);
@@ -128,8 +165,7 @@ public class PublicEventServiceImpl implements PublicEventService {
                 .build();
 
         log.debug("Сохранение статистики = {}", statsDto);
-        statClient.hit(statsDto);
-        log.info("Статистика сохранена.");
+        return statsDto;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package ru.practicum.explorewithme.event.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.LongLongMap;
+import ru.practicum.StatsDto;
+import ru.practicum.StatsParams;
+import ru.practicum.StatsUtil;
+import ru.practicum.client.StatsClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Запускает обращения к сервису статистики на виртуальных потоках, чтобы они шли параллельно
+ * с запросами к БД. У каждого обращения свой дедлайн, по истечении которого future завершается TimeoutException,
+ * а поток прерывается: HttpClient на прерывании отменяет запрос, и он не продолжает занимать соединение.
+ */
+@Component
+@Slf4j
+public class StatsFanOut {
+
+    private final StatsClient statsClient;
+    private final Duration hitTimeout;
+    private final Duration viewsTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public StatsFanOut(StatsClient statsClient,
+                       @Value("${ewm.stats.hit-timeout:1s}") Duration hitTimeout,
+                       @Value("${ewm.stats.views-timeout:1s}") Duration viewsTimeout) {
+        this.statsClient = statsClient;
+        this.hitTimeout = hitTimeout;
+        this.viewsTimeout = viewsTimeout;
+    }
+
+    public CompletableFuture<Void> hit(StatsDto statsDto) {
+        return submit(() -> {
+            statsClient.hit(statsDto);
+            return (Void) null;
+        }, hitTimeout)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Не удалось сохранить статистику {}: {}", statsDto, e.toString());
+                    }
+                });
+    }
+
+    public CompletableFuture<LongLongMap> views(List<Long> eventIds) {
+        StatsParams params = StatsUtil.buildEntityStatsParams(StatsUtil.EVENT_ENTITY, eventIds, false);
+        return submit(() -> StatsUtil.getViewsMap(statsClient.getStats(params)), viewsTimeout);
+    }
+
+    // CompletableFuture.cancel не прерывает поток, поэтому задача отменяется через Future исполнителя
+    private <T> CompletableFuture<T> submit(Supplier<T> call, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, e) -> task.cancel(true));
+        return result;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.close();
+    }
+}
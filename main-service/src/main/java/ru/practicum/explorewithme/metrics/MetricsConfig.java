@@ -0,0 +1,21 @@
+package ru.practicum.explorewithme.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Таймеры ewm.service (теги class, method, exception) на сервисах, помеченных @Timed.
+ * Запросы к API и репозиториям измеряет сам Spring Boot: http.server.requests и spring.data.repository.invocations.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "ewm.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
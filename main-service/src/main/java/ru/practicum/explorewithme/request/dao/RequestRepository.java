@@ -1,12 +1,14 @@
 package ru.practicum.explorewithme.request.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.explorewithme.request.enums.Status;
 import ru.practicum.explorewithme.request.model.Request;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +16,6 @@ import java.util.Optional;
 public interface RequestRepository extends JpaRepository<Request, Long> {
     boolean existsByRequesterIdAndEventId(Long requesterId, Long eventId);
 
-    long countByEventIdAndStatus(Long eventId, Status status);
-
     List<Request> findByRequesterId(Long requesterId);
 
     List<Request> findByEventId(Long eventId);
@@ -24,11 +24,13 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findByEventIdAndStatus(Long eventId, Status status);
 
+    long countByEventIdAndStatus(Long eventId, Status status);
+
     Optional<Request> findByIdAndEventId(Long id, Long eventId);
 
-    @Query("SELECT r.event.id, COUNT(r) " +
-            "FROM Request r " +
-            "WHERE r.event.id IN :eventIds AND r.status = 'CONFIRMED' " +
-            "GROUP BY r.event.id")
-    List<Object[]> getConfirmedRequestsByEventIds(@Param("eventIds") List<Long> eventIds);
+    // Меняет статус только у заявок, которые всё ещё в статусе from; возвращает число изменённых.
+    // Версия увеличивается, поэтому загруженные ранее экземпляры отсоединяются и не сохраняются повторно
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Request r SET r.status = :to, r.version = r.version + 1 WHERE r.id IN :ids AND r.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") Status from, @Param("to") Status to);
 }
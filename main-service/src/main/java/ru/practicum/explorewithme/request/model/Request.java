@@ -40,6 +40,10 @@ public class Request {
     @Column(name = "status", nullable = false)
     private Status status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -1,5 +1,6 @@
 package ru.practicum.explorewithme.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import ru.practicum.explorewithme.error.exception.RuleViolationException;
 import ru.practicum.explorewithme.event.dao.EventRepository;
 import ru.practicum.explorewithme.event.enums.State;
 import ru.practicum.explorewithme.event.model.Event;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
 import ru.practicum.explorewithme.request.dao.RequestRepository;
 import ru.practicum.explorewithme.request.dto.RequestDto;
 import ru.practicum.explorewithme.request.dto.RequestStatusUpdate;
@@ -25,6 +27,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Slf4j
 @RequiredArgsConstructor
 @Transactional
@@ -57,11 +60,8 @@ public class RequestServiceImpl implements RequestService {
             throw new RuleViolationException("Cannot participate in unpublished event");
         }
 
-        if (event.getParticipantLimit() > 0) {
-            long confirmedRequests = requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
-            if (confirmedRequests >= event.getParticipantLimit()) {
-                throw new RuleViolationException("Participant limit reached for event");
-            }
+        if (event.getParticipantLimit() > 0 && event.getConfirmedRequests() >= event.getParticipantLimit()) {
+            throw new RuleViolationException("Participant limit reached for event");
         }
 
         Request request = new Request();
@@ -69,6 +69,9 @@ public class RequestServiceImpl implements RequestService {
         request.setRequester(user);
 
         if (event.getParticipantLimit() == 0 || (event.getRequestModeration() != null && !event.getRequestModeration())) {
+            if (eventRepository.reserveSeats(eventId, 1) == 0) {
+                throw new RuleViolationException("Participant limit reached for event");
+            }
             request.setStatus(Status.CONFIRMED);
         } else {
             request.setStatus(Status.PENDING);
@@ -98,11 +101,16 @@ public class RequestServiceImpl implements RequestService {
             throw new RuleViolationException("Only pending or confirmed requests can be cancelled");
         }
 
+        Status oldStatus = request.getStatus();
+        if (requestRepository.updateStatus(List.of(requestId), oldStatus, Status.CANCELED) == 0) {
+            throw new RuleViolationException("Request " + requestId + " has been changed concurrently");
+        }
+        if (oldStatus == Status.CONFIRMED) {
+            eventRepository.addConfirmedRequests(request.getEvent().getId(), -1);
+        }
         request.setStatus(Status.CANCELED);
 
-        Request cancelledRequest = requestRepository.save(request);
-
-        return requestMapper.toRequestDto(cancelledRequest);
+        return requestMapper.toRequestDto(request);
     }
 
 
@@ -132,8 +140,6 @@ public class RequestServiceImpl implements RequestService {
             throw new RuleViolationException("Event does not require request moderation");
         }
 
-        long confirmedCount = requestRepository.countByEventIdAndStatus(eventId, Status.CONFIRMED);
-
         List<Request> requestsToUpdate = requestRepository.findAllById(updateRequest.getRequestIds());
 
         for (Request request : requestsToUpdate) {
@@ -145,10 +151,16 @@ public class RequestServiceImpl implements RequestService {
             }
         }
 
-        if (newStatus == Status.CONFIRMED) {
-            if (confirmedCount + requestsToUpdate.size() > event.getParticipantLimit()) {
-                throw new RuleViolationException("The participant limit has been reached");
-            }
+        if (newStatus == Status.CONFIRMED && !requestsToUpdate.isEmpty()
+                && eventRepository.reserveSeats(eventId, requestsToUpdate.size()) == 0) {
+            throw new RuleViolationException("The participant limit has been reached");
+        }
+
+        List<Long> requestIds = requestsToUpdate.stream().map(Request::getId).toList();
+        if (!requestIds.isEmpty()
+                && requestRepository.updateStatus(requestIds, Status.PENDING, newStatus) != requestIds.size()) {
+            // Откатывает и резерв мест: заявку успел изменить параллельный запрос
+            throw new RuleViolationException("Requests " + requestIds + " must have status PENDING");
         }
 
         List<Request> confirmedRequests = new ArrayList<>();
@@ -163,22 +175,17 @@ public class RequestServiceImpl implements RequestService {
             }
         }
 
-        requestRepository.saveAll(requestsToUpdate);
-
-        if (newStatus == Status.CONFIRMED && confirmedCount + confirmedRequests.size() >= event.getParticipantLimit()) {
-            List<Request> pendingRequests = requestRepository.findByEventIdAndStatus(eventId, Status.PENDING);
-
-            List<Request> autoRejected = new ArrayList<>();
-            for (Request pendingRequest : pendingRequests) {
-                if (!updateRequest.getRequestIds().contains(pendingRequest.getId())) {
-                    pendingRequest.setStatus(Status.REJECTED);
-                    autoRejected.add(pendingRequest);
-                    rejectedRequests.add(pendingRequest);
-                }
-            }
+        if (newStatus == Status.CONFIRMED
+                && eventRepository.getConfirmedRequests(eventId) >= event.getParticipantLimit()) {
+            List<Request> autoRejected = requestRepository.findByEventIdAndStatus(eventId, Status.PENDING).stream()
+                    .filter(pendingRequest -> !updateRequest.getRequestIds().contains(pendingRequest.getId()))
+                    .toList();
 
             if (!autoRejected.isEmpty()) {
-                requestRepository.saveAll(autoRejected);
+                requestRepository.updateStatus(autoRejected.stream().map(Request::getId).toList(),
+                        Status.PENDING, Status.REJECTED);
+                autoRejected.forEach(pendingRequest -> pendingRequest.setStatus(Status.REJECTED));
+                rejectedRequests.addAll(autoRejected);
             }
         }
 
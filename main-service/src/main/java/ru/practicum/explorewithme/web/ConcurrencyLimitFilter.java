@@ -0,0 +1,83 @@
+package ru.practicum.explorewithme.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * На виртуальных потоках Tomcat больше не ограничивает число одновременных запросов,
+ * и без этого фильтра все они встали бы в очередь за соединениями Hikari.
+ * Лимит задаётся в долях пула соединений, чтобы оставаться согласованным с ним.
+ * Лишние запросы ждут не дольше queue-timeout и получают 503.
+ * Та же логика есть в ConcurrencyLimitFilter сервиса статистики: общего веб-модуля у сервисов нет.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${ewm.concurrency.requests-per-connection:4}") int requestsPerConnection,
+                                  @Value("${ewm.concurrency.queue-timeout:2s}") Duration queueTimeout,
+                                  MeterRegistry meterRegistry) {
+        int maxRequests = poolSize * requestsPerConnection;
+        this.permits = new Semaphore(maxRequests, true);
+        this.queueTimeout = queueTimeout;
+
+        Gauge.builder("ewm.concurrency.active", permits, p -> maxRequests - p.availablePermits())
+                .description("Запросы, выполняющиеся в пределах лимита")
+                .register(meterRegistry);
+        Gauge.builder("ewm.concurrency.queued", permits, Semaphore::getQueueLength)
+                .description("Запросы, ожидающие свободного слота")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ewm.concurrency.rejected")
+                .description("Запросы, отклонённые с 503")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Превышен лимит одновременных запросов, {} {} отклонён", request.getMethod(), request.getRequestURI());
+            rejected.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
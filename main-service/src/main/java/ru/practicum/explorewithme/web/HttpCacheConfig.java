@@ -0,0 +1,48 @@
+package ru.practicum.explorewithme.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Условные GET для публичных справочников и страниц событий: ETag — хэш тела ответа,
+ * при совпадении с If-None-Match клиент получает 304 без тела.
+ * Обработчик при этом выполняется полностью, поэтому просмотр /events/{id} учитывается и при 304.
+ */
+@Configuration
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    private static final String[] CATALOG_PATHS = {"/categories", "/categories/*", "/compilations", "/compilations/*"};
+    private static final String[] EVENT_PATHS = {"/events/*", "/events/*/comments"};
+
+    private final Duration catalogMaxAge;
+
+    public HttpCacheConfig(@Value("${ewm.http-cache.catalog-max-age:60s}") Duration catalogMaxAge) {
+        this.catalogMaxAge = catalogMaxAge;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/categories", "/categories/*", "/compilations", "/compilations/*", "/events/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.maxAge(catalogMaxAge).cachePublic(), CATALOG_PATHS);
+        // Событие и комментарии кэш может хранить, но обязан перепроверять: иначе просмотр не дойдёт до сервиса статистики
+        interceptor.addCacheMapping(CacheControl.noCache().cachePublic(), EVENT_PATHS);
+        registry.addInterceptor(interceptor);
+    }
+}
@@ -0,0 +1,3 @@
+-- Полнотекстовый поиск событий: выражение должно совпадать с EventSearchFunctionContributor
+CREATE INDEX IF NOT EXISTS idx_events_fts ON events
+    USING GIN (to_tsvector('russian', annotation || ' ' || description));
@@ -24,17 +24,28 @@ CREATE TABLE IF NOT EXISTS events (
     title VARCHAR(120) NOT NULL,
     published_on TIMESTAMP WITHOUT TIME ZONE,
     location_lat DOUBLE PRECISION NOT NULL,
-    location_lon DOUBLE PRECISION NOT NULL
+    location_lon DOUBLE PRECISION NOT NULL,
+    confirmed_requests BIGINT NOT NULL DEFAULT 0,
+    views BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+-- для баз, созданных до появления счётчика; значения выравнивает ConfirmedRequestsReconciler
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS views BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     event_id BIGINT NOT NULL REFERENCES events(id),
     requester_id BIGINT NOT NULL REFERENCES users(id),
-    status VARCHAR(20) NOT NULL
+    status VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS compilations (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     pinned BOOLEAN NOT NULL DEFAULT FALSE,
@@ -55,18 +66,23 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT NOT NULL REFERENCES users(id),
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated TIMESTAMP WITHOUT TIME ZONE,
-    status VARCHAR(20) NOT NULL
+    status VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 -- Indexes for better query performance
 DROP INDEX IF EXISTS idx_events_category;
 DROP INDEX IF EXISTS idx_events_initiator;
 DROP INDEX IF EXISTS idx_events_date;
+DROP INDEX IF EXISTS idx_events_views;
 DROP INDEX IF EXISTS idx_requests_event;
 DROP INDEX IF EXISTS idx_requests_event_requester;
 
 CREATE INDEX idx_events_category ON events(category_id);
 CREATE INDEX idx_events_initiator ON events(initiator_id);
 CREATE INDEX idx_events_date ON events(event_date);
+CREATE INDEX idx_events_views ON events(views DESC, id);
 CREATE INDEX idx_requests_event ON requests(event_id);
 CREATE INDEX idx_requests_event_requester ON requests(event_id, requester_id);
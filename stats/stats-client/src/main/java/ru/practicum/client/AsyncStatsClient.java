@@ -0,0 +1,160 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.StatsDto;
+import ru.practicum.StatsParams;
+import ru.practicum.StatsView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Неблокирующая отправка хитов: запросы складываются в ограниченный буфер,
+ * а фоновый поток отправляет их пачками на /hit/batch по размеру или по таймеру.
+ * Потерянные хиты (переполнение буфера, ошибка отправки, вызов после close) считаются
+ * в stats.client.hits.dropped с причиной в теге reason.
+ */
+@Slf4j
+public class AsyncStatsClient implements StatsClient, AutoCloseable {
+
+    private final StatsClient delegate;
+    private final BlockingQueue<StatsDto> buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final ScheduledExecutorService sender;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final Counter acceptedHits;
+    private final Counter sentHits;
+    private final Counter overflowDroppedHits;
+    private final Counter failedDroppedHits;
+    private final Counter closedDroppedHits;
+
+    public AsyncStatsClient(StatsClient delegate, StatsClientProperties.Async properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.overflowPolicy = properties.getOverflowPolicy();
+
+        Gauge.builder("stats.client.queue.size", buffer, BlockingQueue::size)
+                .description("Хиты, ожидающие отправки в сервис статистики")
+                .register(meterRegistry);
+        Gauge.builder("stats.client.queue.remaining", buffer, BlockingQueue::remainingCapacity)
+                .register(meterRegistry);
+        this.acceptedHits = hitsCounter(meterRegistry, "accepted");
+        this.sentHits = hitsCounter(meterRegistry, "sent");
+        this.overflowDroppedHits = droppedHitsCounter(meterRegistry, "overflow");
+        this.failedDroppedHits = droppedHitsCounter(meterRegistry, "send-failed");
+        this.closedDroppedHits = droppedHitsCounter(meterRegistry, "closed");
+
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        sender.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void hit(StatsDto statsDto) {
+        if (closed.get()) {
+            closedDroppedHits.increment();
+            log.debug("Клиент статистики закрыт, хит {} не отправлен", statsDto);
+            return;
+        }
+        enqueue(statsDto);
+        if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                sender.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // close() начался после проверки флага: буфер отправит его последний flush
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void hitAll(List<StatsDto> statsDtos) {
+        statsDtos.forEach(this::hit);
+    }
+
+    @Override
+    public List<StatsView> getStats(StatsParams statsParams) {
+        return delegate.getStats(statsParams);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        sender.shutdown();
+        if (!sender.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Фоновая отправка статистики не завершилась вовремя");
+        }
+        flush();
+    }
+
+    private void enqueue(StatsDto statsDto) {
+        if (buffer.offer(statsDto)) {
+            acceptedHits.increment();
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> overflowDroppedHits.increment();
+            case DROP_OLDEST -> {
+                while (!buffer.offer(statsDto)) {
+                    if (buffer.poll() != null) {
+                        overflowDroppedHits.increment();
+                    }
+                }
+                acceptedHits.increment();
+            }
+            case CALLER_RUNS -> {
+                delegate.hit(statsDto);
+                sentHits.increment();
+            }
+        }
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        List<StatsDto> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                delegate.hitAll(batch);
+                sentHits.increment(batch.size());
+            } catch (RuntimeException e) {
+                failedDroppedHits.increment(batch.size());
+                log.warn("Не удалось отправить {} хитов в сервис статистики, пачка отброшена: {}",
+                        batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private static Counter hitsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stats.client.hits")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter droppedHitsCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("stats.client.hits.dropped")
+                .description("Хиты, не доставленные в сервис статистики")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
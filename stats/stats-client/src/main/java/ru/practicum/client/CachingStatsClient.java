@@ -0,0 +1,131 @@
+package ru.practicum.client;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ru.practicum.StatsDto;
+import ru.practicum.StatsParams;
+import ru.practicum.StatsView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Кеширует статистику по каждому uri (или id сущности) отдельно, так что списки событий с пересекающимися
+ * uri переиспользуют записи друг друга. Конец периода в ключ не входит: запросы «до текущего момента»
+ * отдаются из кеша с отставанием не больше ttl, а устаревающие записи обновляются в фоне.
+ */
+public class CachingStatsClient implements StatsClient, AutoCloseable {
+
+    private final StatsClient delegate;
+    private final Duration ttl;
+    private final LoadingCache<Key, List<StatsView>> cache;
+
+    public CachingStatsClient(StatsClient delegate, StatsClientProperties.Cache properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttl = properties.getTtl();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .recordStats()
+                .build(new Loader());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "stats.client.views");
+    }
+
+    @Override
+    public void hit(StatsDto statsDto) {
+        delegate.hit(statsDto);
+    }
+
+    @Override
+    public void hitAll(List<StatsDto> statsDtos) {
+        delegate.hitAll(statsDtos);
+    }
+
+    @Override
+    public List<StatsView> getStats(StatsParams statsParams) {
+        boolean byUris = statsParams.getUris() != null && !statsParams.getUris().isEmpty();
+        boolean byIds = statsParams.getEntity() != null && statsParams.getIds() != null && !statsParams.getIds().isEmpty()
+                && statsParams.getIdFrom() == null && statsParams.getIdTo() == null;
+        // Без списка uri или id либо за период, закончившийся раньше срока жизни записей, кеш неприменим
+        if (!byUris && !byIds || statsParams.getEnd().isBefore(LocalDateTime.now().minus(ttl))) {
+            return delegate.getStats(statsParams);
+        }
+
+        boolean unique = Boolean.TRUE.equals(statsParams.getUnique());
+        boolean approximate = Boolean.TRUE.equals(statsParams.getApproximate());
+        List<Key> keys = byIds
+                ? statsParams.getIds().stream()
+                .distinct()
+                .map(id -> new Key(null, statsParams.getEntity(), id, statsParams.getStart(), unique, approximate))
+                .toList()
+                : statsParams.getUris().stream()
+                .distinct()
+                .map(uri -> new Key(uri, null, null, statsParams.getStart(), unique, approximate))
+                .toList();
+        return cache.getAll(keys).values().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(StatsView::getHits).reversed())
+                .toList();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Запись кеша — либо один uri, либо один id сущности
+    private record Key(String uri, String entity, Long entityId, LocalDateTime start, boolean unique,
+                       boolean approximate) {
+    }
+
+    private class Loader implements CacheLoader<Key, List<StatsView>> {
+
+        @Override
+        public List<StatsView> load(Key key) {
+            return loadAll(Set.of(key)).get(key);
+        }
+
+        // Промахи с одинаковыми параметрами запроса загружаются одним обращением к сервису статистики
+        @Override
+        public Map<Key, List<StatsView>> loadAll(Set<? extends Key> keys) {
+            Map<Key, List<StatsView>> loaded = new HashMap<>();
+            keys.stream()
+                    .collect(Collectors.groupingBy(key ->
+                            new Key(null, key.entity(), null, key.start(), key.unique(), key.approximate())))
+                    .forEach((group, groupKeys) -> {
+                        StatsParams params = new StatsParams();
+                        params.setStart(group.start());
+                        params.setEnd(LocalDateTime.now());
+                        params.setUnique(group.unique());
+                        params.setApproximate(group.approximate());
+                        if (group.entity() == null) {
+                            params.setUris(groupKeys.stream().map(Key::uri).toList());
+                        } else {
+                            params.setEntity(group.entity());
+                            params.setIds(groupKeys.stream().map(Key::entityId).toList());
+                        }
+
+                        Function<StatsView, Object> target = group.entity() == null ? StatsView::getUri : StatsView::getEntityId;
+                        Map<Object, List<StatsView>> byTarget = delegate.getStats(params).stream()
+                                .collect(Collectors.groupingBy(target));
+                        // Uri и id без хитов тоже кешируются, иначе новые события всегда будут промахом
+                        groupKeys.forEach(key -> loaded.put(key, byTarget.getOrDefault(
+                                group.entity() == null ? key.uri() : key.entityId(), List.of())));
+                    });
+            return loaded;
+        }
+    }
+}
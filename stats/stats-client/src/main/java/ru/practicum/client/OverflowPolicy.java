@@ -0,0 +1,7 @@
+package ru.practicum.client;
+
+public enum OverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST,
+    CALLER_RUNS
+}
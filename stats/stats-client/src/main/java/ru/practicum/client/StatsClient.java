@@ -10,6 +10,8 @@ public interface StatsClient {
 
     void hit(StatsDto statsDto);
 
+    void hitAll(List<StatsDto> statsDtos);
+
     List<StatsView> getStats(StatsParams statsParams);
 
 }
@@ -0,0 +1,30 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(StatsClientProperties.class)
+public class StatsClientConfig {
+
+    /**
+     * HTTP-клиент, обёрнутый включёнными в настройках декораторами: кеш статистики поверх буфера хитов.
+     */
+    @Bean
+    @Primary
+    public StatsClient statsClient(StatsClientImpl statsClientImpl,
+                                   StatsClientProperties properties,
+                                   MeterRegistry meterRegistry) {
+        StatsClient statsClient = statsClientImpl;
+        if (properties.getAsync().isEnabled()) {
+            statsClient = new AsyncStatsClient(statsClient, properties.getAsync(), meterRegistry);
+        }
+        if (properties.getCache().isEnabled()) {
+            statsClient = new CachingStatsClient(statsClient, properties.getCache(), meterRegistry);
+        }
+        return statsClient;
+    }
+}
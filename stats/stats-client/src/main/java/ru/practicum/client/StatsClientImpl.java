@@ -1,6 +1,8 @@
 package ru.practicum.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -8,13 +10,18 @@ import ru.practicum.StatsDto;
 import ru.practicum.StatsParams;
 import ru.practicum.StatsView;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 @Component
 public class StatsClientImpl implements StatsClient {
@@ -23,34 +30,49 @@ public class StatsClientImpl implements StatsClient {
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final String serverUrl;
-
-    public StatsClientImpl(@Value("${stats.server.url:http://localhost:9090}") String serverUrl, ObjectMapper objectMapper) {
+    private final Duration requestTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public StatsClientImpl(@Value("${stats.server.url:http://localhost:9090}") String serverUrl,
+                           ObjectMapper objectMapper,
+                           StatsClientProperties properties,
+                           MeterRegistry meterRegistry) {
+        StatsClientProperties.Http http = properties.getHttp();
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(http.getConnectTimeout());
+        if (http.isVirtualThreads()) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
         this.serverUrl = serverUrl;
-        this.httpClient = HttpClient.newHttpClient();
+        this.httpClient = builder.build();
         this.objectMapper = objectMapper;
+        this.requestTimeout = http.getRequestTimeout();
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void hit(StatsDto statsDto) {
         try {
             String requestBody = objectMapper.writeValueAsString(statsDto);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(serverUrl + "/hit"))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
-
-            if (response.statusCode() >= 400) {
-                throw new StatsClientException("Failed to send hit: " + response.statusCode());
-            }
+            post("hit", "/hit", requestBody);
         } catch (Exception e) {
             throw new StatsClientException("Failed to send hit", e);
         }
     }
 
+    @Override
+    public void hitAll(List<StatsDto> statsDtos) {
+        if (statsDtos.isEmpty()) {
+            return;
+        }
+        try {
+            String requestBody = objectMapper.writeValueAsString(statsDtos);
+            post("hit-batch", "/hit/batch", requestBody);
+        } catch (Exception e) {
+            throw new StatsClientException("Failed to send " + statsDtos.size() + " hits", e);
+        }
+    }
+
     @Override
     public List<StatsView> getStats(StatsParams statsParams) {
         try {
@@ -62,17 +84,38 @@ public class StatsClientImpl implements StatsClient {
                 statsParams.getUris().forEach(uri -> uriBuilder.queryParam("uris", uri));
             }
 
+            if (statsParams.getEntity() != null) {
+                uriBuilder.queryParam("entity", statsParams.getEntity());
+                if (statsParams.getIds() != null) {
+                    // Через запятую: строка запроса для пачки из сотен id остаётся в пределах нескольких килобайт
+                    uriBuilder.queryParam("ids", statsParams.getIds().stream()
+                            .map(String::valueOf)
+                            .collect(Collectors.joining(",")));
+                }
+                if (statsParams.getIdFrom() != null) {
+                    uriBuilder.queryParam("idFrom", statsParams.getIdFrom());
+                }
+                if (statsParams.getIdTo() != null) {
+                    uriBuilder.queryParam("idTo", statsParams.getIdTo());
+                }
+            }
+
             if (statsParams.getUnique() != null) {
                 uriBuilder.queryParam("unique", statsParams.getUnique());
             }
 
+            if (Boolean.TRUE.equals(statsParams.getApproximate())) {
+                uriBuilder.queryParam("approximate", true);
+            }
+
             HttpRequest request = HttpRequest.newBuilder()
                     .uri(URI.create(uriBuilder.toUriString()))
                     .header("Content-Type", "application/json")
+                    .timeout(requestTimeout)
                     .GET()
                     .build();
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = send("stats", request, HttpResponse.BodyHandlers.ofString());
 
             if (response.statusCode() >= 400) {
                 throw new StatsClientException("Failed to get stats: " + response.statusCode());
@@ -87,6 +130,49 @@ public class StatsClientImpl implements StatsClient {
         }
     }
 
+    private void post(String operation, String path, String requestBody) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(serverUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+
+        HttpResponse<Void> response = send(operation, request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() >= 400) {
+            throw new StatsClientException("Failed to send " + operation + ": " + response.statusCode());
+        }
+    }
+
+    // Время обмена с сервисом статистики по операциям; исход как у http.client.requests в Spring
+    private <T> HttpResponse<T> send(String operation, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "IO_ERROR";
+        try {
+            HttpResponse<T> response = httpClient.send(request, bodyHandler);
+            outcome = outcome(response.statusCode());
+            return response;
+        } catch (HttpTimeoutException e) {
+            outcome = "TIMEOUT";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("stats.client.requests")
+                    .description("Запросы к сервису статистики")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        return status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+    }
+
     private String encodeDateTime(LocalDateTime dateTime) {
         return dateTime.format(FORMATTER);
     }
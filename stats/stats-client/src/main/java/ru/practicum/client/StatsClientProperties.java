@@ -0,0 +1,45 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.client")
+public class StatsClientProperties {
+
+    private final Http http = new Http();
+    private final Async async = new Async();
+    private final Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Http {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        // исполнитель HttpClient для асинхронной части обмена; сам send() блокирует вызывающий поток
+        private boolean virtualThreads = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        private boolean enabled = false;
+        private int capacity = 10_000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofSeconds(30);
+        private Duration refreshAfter = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IpAddressValidator implements ConstraintValidator<IpAddress, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence ip, ConstraintValidatorContext context) {
+        return ip == null || IpAddresses.isValid(ip);
+    }
+}
@@ -0,0 +1,302 @@
+package ru.practicum;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+
+/**
+ * Разбор IPv4 и IPv6 без регулярных выражений и промежуточных объектов.
+ * Упакованный вид тот же, что у InetAddress.getAddress(): 4 байта для IPv4 (в том числе ::ffff:a.b.c.d) и 16 для IPv6.
+ * Текстовый вид тот же, что у InetAddress.getHostAddress(), поэтому строки совпадают с прочитанными из БД.
+ */
+@UtilityClass
+public class IpAddresses {
+
+    public static final int IPV4_LENGTH = 4;
+    public static final int IPV6_LENGTH = 16;
+    public static final int INVALID = -1;
+
+    private static final int IPV6_GROUPS = 8;
+    private static final int MAX_OCTET = 255;
+    private static final int MAX_OCTET_DIGITS = 3;
+    private static final int MAX_GROUP_DIGITS = 4;
+    // Группы 0–4 нулевые, группа 5 равна ffff: IPv4, отображённый в IPv6
+    private static final int MAPPED_ZERO_GROUPS = 0b011111;
+    private static final int MAPPED_FFFF_GROUP = 0b100000;
+
+    public boolean isValid(CharSequence ip) {
+        return ip != null && pack(ip, null) != INVALID;
+    }
+
+    /**
+     * Записывает адрес в target (не короче 16 байт) и возвращает число записанных байт: 4 или 16, либо INVALID.
+     * С target == null только проверяет адрес. Идентификатор зоны IPv6 (fe80::1%eth0) отбрасывается.
+     */
+    public int pack(CharSequence ip, byte[] target) {
+        int end = ip.length();
+        for (int i = 0; i < end; i++) {
+            if (ip.charAt(i) == ':') {
+                return packIpv6(ip, target);
+            }
+        }
+        long ipv4 = parseIpv4(ip, 0, end);
+        if (ipv4 == INVALID) {
+            return INVALID;
+        }
+        if (target != null) {
+            writeIpv4(target, 0, ipv4);
+        }
+        return IPV4_LENGTH;
+    }
+
+    public byte[] pack(CharSequence ip) {
+        byte[] packed = new byte[IPV6_LENGTH];
+        int length = pack(ip, packed);
+        if (length == INVALID) {
+            throw new IllegalArgumentException("Invalid IP address: " + ip);
+        }
+        if (length == IPV4_LENGTH) {
+            return new byte[]{packed[0], packed[1], packed[2], packed[3]};
+        }
+        return packed;
+    }
+
+    /**
+     * Адрес в текстовом виде InetAddress.getHostAddress() или null, если адрес некорректен.
+     * Для IPv4 без ведущих нулей возвращает ту же строку, ничего не создавая.
+     */
+    public String normalize(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        if (ip.indexOf(':') < 0) {
+            long ipv4 = parseIpv4(ip, 0, ip.length());
+            if (ipv4 == INVALID) {
+                return null;
+            }
+            return ip.length() == ipv4TextLength(ipv4) ? ip : formatIpv4(ipv4);
+        }
+        byte[] packed = new byte[IPV6_LENGTH];
+        int length = pack(ip, packed);
+        return length == INVALID ? null : format(packed, length);
+    }
+
+    public String format(byte[] packed) {
+        return format(packed, packed.length);
+    }
+
+    private String format(byte[] packed, int length) {
+        if (length == IPV4_LENGTH) {
+            return formatIpv4(readIpv4(packed, 0));
+        }
+        if (length != IPV6_LENGTH) {
+            throw new IllegalArgumentException("Invalid IP address length: " + length);
+        }
+        if (isIpv4Mapped(packed)) {
+            return formatIpv4(readIpv4(packed, IPV6_LENGTH - IPV4_LENGTH));
+        }
+        StringBuilder text = new StringBuilder(39);
+        for (int group = 0; group < IPV6_GROUPS; group++) {
+            if (group > 0) {
+                text.append(':');
+            }
+            int value = (packed[2 * group] & 0xFF) << 8 | packed[2 * group + 1] & 0xFF;
+            appendHex(text, value);
+        }
+        return text.toString();
+    }
+
+    // 32-битный адрес или INVALID; ведущие нули в октетах допускаются, как и в прежнем регулярном выражении
+    private long parseIpv4(CharSequence ip, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_OCTET_DIGITS) {
+                    return INVALID;
+                }
+                value = value * 10 + (c - '0');
+            } else if (c == '.' && digits > 0 && value <= MAX_OCTET && octets < 3) {
+                address = address << 8 | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        if (digits == 0 || value > MAX_OCTET || octets != 3) {
+            return INVALID;
+        }
+        return address << 8 | value;
+    }
+
+    /*
+     * Группы пишутся подряд, а после разбора группы за "::" сдвигаются в конец адреса.
+     * Маски нулевых групп и групп ffff нужны, чтобы распознать ::ffff:a.b.c.d и без target.
+     */
+    private int packIpv6(CharSequence ip, byte[] target) {
+        int end = ip.length();
+        for (int i = 0; i < end; i++) {
+            if (ip.charAt(i) == '%') {
+                if (i == ip.length() - 1) {
+                    return INVALID;
+                }
+                end = i;
+                break;
+            }
+        }
+        int groups = 0;
+        int gap = -1;
+        int nonZeroMask = 0;
+        int ffffMask = 0;
+        int i = 0;
+        if (end >= 2 && ip.charAt(0) == ':') {
+            if (ip.charAt(1) != ':') {
+                return INVALID;
+            }
+            gap = 0;
+            i = 2;
+        }
+        while (i < end) {
+            if (groups == IPV6_GROUPS) {
+                return INVALID;
+            }
+            int groupStart = i;
+            int value = 0;
+            while (i < end) {
+                int digit = hexDigit(ip.charAt(i));
+                if (digit < 0) {
+                    break;
+                }
+                if (i - groupStart == MAX_GROUP_DIGITS) {
+                    return INVALID;
+                }
+                value = value << 4 | digit;
+                i++;
+            }
+            if (i < end && ip.charAt(i) == '.') {
+                // IPv4 в конце адреса занимает две последние группы
+                long ipv4 = groups <= IPV6_GROUPS - 2 ? parseIpv4(ip, groupStart, end) : INVALID;
+                if (ipv4 == INVALID) {
+                    return INVALID;
+                }
+                if (target != null) {
+                    writeIpv4(target, 2 * groups, ipv4);
+                }
+                nonZeroMask |= (ipv4 >>> 16 != 0 ? 1 : 0) << groups | ((ipv4 & 0xFFFF) != 0 ? 1 : 0) << groups + 1;
+                groups += 2;
+                break;
+            }
+            if (i == groupStart) {
+                return INVALID;
+            }
+            if (target != null) {
+                target[2 * groups] = (byte) (value >>> 8);
+                target[2 * groups + 1] = (byte) value;
+            }
+            nonZeroMask |= (value != 0 ? 1 : 0) << groups;
+            ffffMask |= (value == 0xFFFF ? 1 : 0) << groups;
+            groups++;
+            if (i == end) {
+                break;
+            }
+            if (ip.charAt(i) != ':' || ++i == end) {
+                return INVALID;
+            }
+            if (ip.charAt(i) == ':') {
+                if (gap >= 0) {
+                    return INVALID;
+                }
+                gap = groups;
+                i++;
+            }
+        }
+        if (gap < 0 ? groups != IPV6_GROUPS : groups == IPV6_GROUPS) {
+            return INVALID;
+        }
+        if (gap >= 0) {
+            int zeroGroups = IPV6_GROUPS - groups;
+            int headMask = (1 << gap) - 1;
+            nonZeroMask = nonZeroMask & headMask | (nonZeroMask & ~headMask) << zeroGroups;
+            ffffMask = ffffMask & headMask | (ffffMask & ~headMask) << zeroGroups;
+            if (target != null) {
+                System.arraycopy(target, 2 * gap, target, 2 * (gap + zeroGroups), 2 * (groups - gap));
+                Arrays.fill(target, 2 * gap, 2 * (gap + zeroGroups), (byte) 0);
+            }
+        }
+        if ((nonZeroMask & MAPPED_ZERO_GROUPS) == 0 && (ffffMask & MAPPED_FFFF_GROUP) != 0) {
+            if (target != null) {
+                System.arraycopy(target, IPV6_LENGTH - IPV4_LENGTH, target, 0, IPV4_LENGTH);
+            }
+            return IPV4_LENGTH;
+        }
+        return IPV6_LENGTH;
+    }
+
+    private boolean isIpv4Mapped(byte[] packed) {
+        for (int i = 0; i < 10; i++) {
+            if (packed[i] != 0) {
+                return false;
+            }
+        }
+        return packed[10] == (byte) 0xFF && packed[11] == (byte) 0xFF;
+    }
+
+    private void writeIpv4(byte[] target, int offset, long ipv4) {
+        target[offset] = (byte) (ipv4 >>> 24);
+        target[offset + 1] = (byte) (ipv4 >>> 16);
+        target[offset + 2] = (byte) (ipv4 >>> 8);
+        target[offset + 3] = (byte) ipv4;
+    }
+
+    private long readIpv4(byte[] packed, int offset) {
+        return (packed[offset] & 0xFFL) << 24 | (packed[offset + 1] & 0xFF) << 16
+                | (packed[offset + 2] & 0xFF) << 8 | packed[offset + 3] & 0xFF;
+    }
+
+    private int ipv4TextLength(long ipv4) {
+        int length = 3;
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            int octet = (int) (ipv4 >>> shift & 0xFF);
+            length += octet < 10 ? 1 : octet < 100 ? 2 : 3;
+        }
+        return length;
+    }
+
+    private String formatIpv4(long ipv4) {
+        return new StringBuilder(15)
+                .append(ipv4 >>> 24 & 0xFF).append('.')
+                .append(ipv4 >>> 16 & 0xFF).append('.')
+                .append(ipv4 >>> 8 & 0xFF).append('.')
+                .append(ipv4 & 0xFF)
+                .toString();
+    }
+
+    private int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private void appendHex(StringBuilder text, int value) {
+        boolean leading = true;
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            int digit = value >>> shift & 0xF;
+            if (digit != 0 || !leading || shift == 0) {
+                text.append(Character.forDigit(digit, 16));
+                leading = false;
+            }
+        }
+    }
+}
@@ -7,7 +7,6 @@ import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +14,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
-import static ru.practicum.StatsUtil.*;
-
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -27,8 +24,7 @@ public class StatsDto {
     @NotBlank(message = "URI cannot be blank")
     private String uri;
     @NotBlank(message = "IP address cannot be blank")
-    @Pattern(regexp = IP_ADDRESS_PATTERN,
-            message = "Invalid IP address format")
+    @IpAddress(message = "Invalid IP address format")
     private String ip;
     @NotNull(message = "Timestamp cannot be null")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
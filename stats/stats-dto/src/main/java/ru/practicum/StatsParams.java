@@ -1,5 +1,6 @@
 package ru.practicum;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import lombok.AllArgsConstructor;
@@ -26,5 +27,25 @@ public class StatsParams {
     private List<String> uris;
 
     private Boolean unique = false;
+
+    // Для unique=true: оценка по HyperLogLog-скетчам, погрешность около 1.6% (до 3.3% с вероятностью 95%)
+    private Boolean approximate = false;
+
+    // Вместо списка uri: хиты по uri вида /{entity}/{id}, с id из списка ids и/или из диапазона [idFrom, idTo]
+    private String entity;
+
+    private List<Long> ids;
+
+    private Long idFrom;
+
+    private Long idTo;
+
+    @AssertTrue(message = "Entity filter requires entity, cannot be combined with uris and needs idFrom <= idTo")
+    public boolean isEntityFilterValid() {
+        if (entity == null) {
+            return ids == null && idFrom == null && idTo == null;
+        }
+        return uris == null && (idFrom == null || idTo == null || idFrom <= idTo);
+    }
 }
 
@@ -3,27 +3,21 @@ package ru.practicum;
 import lombok.experimental.UtilityClass;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @UtilityClass
 public class StatsUtil {
 
-    public static final String IP_ADDRESS_PATTERN = "^(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)[.]){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$";
+    public static final String DEFAULT_IP_ADDRESS = "0.0.0.0";
+
+    public static final String EVENT_ENTITY = "events";
 
     public static final LocalDateTime EPOCH_LOCAL_DATE_TIME = LocalDateTime.of(1970, 1, 1, 0, 0, 0);
 
     public String getIpAddressOrDefault(String ip) {
-        Pattern pattern = Pattern.compile(IP_ADDRESS_PATTERN);
-        Matcher matcher = pattern.matcher(ip);
-        if (matcher.find()) {
-            return matcher.group();
-        } else {
-            return "0.0.0.0";
-        }
+        String normalized = IpAddresses.normalize(ip);
+        return normalized == null ? DEFAULT_IP_ADDRESS : normalized;
     }
 
     public StatsParams buildStatsParams(List<String> uris, boolean unique) {
@@ -39,20 +33,29 @@ public class StatsUtil {
         return params;
     }
 
-    public Map<Long, Long> getViewsMap(List<StatsView> statsViews) {
-        return statsViews.stream()
-                .collect(Collectors.toMap(
-                        sv -> Long.parseLong(sv.getUri().split("/")[2]),
-                        StatsView::getHits
-                ));
+    public StatsParams buildEntityStatsParams(String entity, Collection<Long> ids, boolean unique) {
+        return buildEntityStatsParams(entity, ids, unique, EPOCH_LOCAL_DATE_TIME);
+    }
+
+    public StatsParams buildEntityStatsParams(String entity, Collection<Long> ids, boolean unique,
+                                              LocalDateTime startDate) {
+        StatsParams params = buildStatsParams(null, unique, startDate);
+        params.setEntity(entity);
+        params.setIds(List.copyOf(ids));
+        return params;
     }
 
-    public Map<Long, Long> getConfirmedRequestsMap(List<Object[]> confirmedRequests) {
-        return confirmedRequests.stream()
-                .collect(Collectors.toMap(
-                        r -> (Long) r[0],
-                        r -> (Long) r[1]
-                ));
+    /**
+     * Просмотры по id сущности. Хиты одного uri от разных приложений складываются.
+     */
+    public LongLongMap getViewsMap(List<StatsView> statsViews) {
+        LongLongMap views = new LongLongMap(statsViews.size());
+        for (StatsView statsView : statsViews) {
+            if (statsView.getEntityId() != null) {
+                views.addTo(statsView.getEntityId(), statsView.getHits());
+            }
+        }
+        return views;
     }
 
 }
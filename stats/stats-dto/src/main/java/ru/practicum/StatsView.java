@@ -12,4 +12,10 @@ public class StatsView {
     private String app;
     private String uri;
     private Long hits;
+    // Id из uri вида /{entity}/{id}, для прочих uri null
+    private Long entityId;
+
+    public StatsView(String app, String uri, Long hits) {
+        this(app, uri, hits, null);
+    }
 }
@@ -0,0 +1,161 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpAddressesTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void pack_shouldMatchInetAddress_whenIpv4IsRandom() throws UnknownHostException {
+        for (int i = 0; i < 10_000; i++) {
+            String ip = random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+
+            assertMatchesInetAddress(ip);
+            assertSame(ip, IpAddresses.normalize(ip));
+        }
+    }
+
+    @Test
+    void pack_shouldMatchInetAddress_whenIpv6IsRandom() throws UnknownHostException {
+        for (int i = 0; i < 10_000; i++) {
+            byte[] address = randomIpv6();
+
+            assertMatchesInetAddress(fullForm(address, false));
+            assertMatchesInetAddress(fullForm(address, true).toUpperCase());
+            assertMatchesInetAddress(compressedForm(address));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "::", "::1", "1::", "1::2", "fe80::", "2001:db8::ff00:42:8329", "2001:0db8:0000:0000:0000:ff00:0042:8329",
+            "0:0:0:0:0:0:0:1", "1:2:3:4:5:6:7::", "::2:3:4:5:6:7:8", "1:2:3:4:5:6:7:8",
+            "::ffff:1.2.3.4", "::FFFF:10.0.0.1", "0:0:0:0:0:ffff:102:304", "::ffff:0:0", "::ffff:ffff:ffff",
+            "::1.2.3.4", "64:ff9b::192.0.2.33", "1:2:3:4:5:6:1.2.3.4", "::ffff:1:2.3.4.5"
+    })
+    void pack_shouldMatchInetAddress_whenIpv6HasSpecialForm(String ip) throws UnknownHostException {
+        assertMatchesInetAddress(ip);
+    }
+
+    @Test
+    void pack_shouldReturnFourBytes_whenIpv6IsIpv4Mapped() {
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, IpAddresses.pack("::ffff:1.2.3.4"));
+        assertEquals("1.2.3.4", IpAddresses.normalize("::ffff:0102:0304"));
+    }
+
+    @Test
+    void pack_shouldDropZone_whenIpv6HasZoneId() throws UnknownHostException {
+        assertArrayEquals(InetAddress.getByName("fe80::1%1").getAddress(), IpAddresses.pack("fe80::1%eth0"));
+        assertEquals("fe80:0:0:0:0:0:0:1", IpAddresses.normalize("fe80::1%eth0"));
+    }
+
+    @Test
+    void normalize_shouldDropLeadingZeros_whenIpv4OctetsArePadded() {
+        assertEquals("10.1.0.1", IpAddresses.normalize("010.001.000.001"));
+        assertArrayEquals(new byte[]{10, 1, 0, 1}, IpAddresses.pack("010.001.000.001"));
+    }
+
+    @Test
+    void format_shouldReturnNormalizedText_whenAddressIsPacked() {
+        for (String ip : new String[]{"192.168.0.1", "::1", "2001:DB8::1", "::ffff:8.8.8.8", "1:2:3:4:5:6:7:8"}) {
+            assertEquals(IpAddresses.normalize(ip), IpAddresses.format(IpAddresses.pack(ip)));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", ".", "1.2.3", "1.2.3.4.5", "256.0.0.1", "1.2.3.256", "1.2.3.-1", "1..2.3", "1.2.3.", ".1.2.3",
+            "1.2.3.4 ", " 1.2.3.4", "1.2.3.0004", "a.b.c.d", "1.2.3.4/24",
+            ":", ":::", "1:", ":1", "1:::2", "1::2::3", "12345::", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7",
+            "1:2:3:4:5:6:7:8::", "::1:2:3:4:5:6:7:8", "gggg::", "::ffff:1.2.3", "::ffff:1.2.3.4.5",
+            "1:2:3:4:5:6:7:1.2.3.4", "1.2.3.4::", "::1.2.3.4:5", "fe80::1%", "localhost"
+    })
+    void isValid_shouldReturnFalse_whenAddressIsMalformed(String ip) {
+        assertFalse(IpAddresses.isValid(ip));
+        assertNull(IpAddresses.normalize(ip));
+        assertEquals(IpAddresses.INVALID, IpAddresses.pack(ip, new byte[IpAddresses.IPV6_LENGTH]));
+        assertThrows(IllegalArgumentException.class, () -> IpAddresses.pack(ip));
+    }
+
+    @Test
+    void isValid_shouldReturnFalse_whenAddressIsNull() {
+        assertFalse(IpAddresses.isValid(null));
+        assertNull(IpAddresses.normalize(null));
+    }
+
+    // Строка — числовой литерал, поэтому InetAddress разбирает её без обращения к DNS
+    private static void assertMatchesInetAddress(String ip) throws UnknownHostException {
+        InetAddress expected = InetAddress.getByName(ip);
+
+        assertTrue(IpAddresses.isValid(ip), ip);
+        assertArrayEquals(expected.getAddress(), IpAddresses.pack(ip), ip);
+        assertEquals(expected.getHostAddress(), IpAddresses.normalize(ip), ip);
+    }
+
+    // Нулевые группы встречаются чаще случайных, чтобы проверить сжатие "::" в разных местах
+    private byte[] randomIpv6() {
+        byte[] address = new byte[IpAddresses.IPV6_LENGTH];
+        for (int group = 0; group < 8; group++) {
+            if (random.nextInt(3) != 0) {
+                address[2 * group] = (byte) random.nextInt(256);
+                address[2 * group + 1] = (byte) random.nextInt(256);
+            }
+        }
+        return address;
+    }
+
+    private static String fullForm(byte[] address, boolean padded) {
+        StringBuilder text = new StringBuilder();
+        for (int group = 0; group < 8; group++) {
+            if (group > 0) {
+                text.append(':');
+            }
+            text.append(String.format(padded ? "%04x" : "%x", group(address, group)));
+        }
+        return text.toString();
+    }
+
+    private static String compressedForm(byte[] address) {
+        int bestStart = -1;
+        int bestLength = 0;
+        for (int group = 0; group < 8; ) {
+            int length = 0;
+            while (group + length < 8 && group(address, group + length) == 0) {
+                length++;
+            }
+            if (length > bestLength) {
+                bestStart = group;
+                bestLength = length;
+            }
+            group += Math.max(length, 1);
+        }
+        if (bestLength < 2) {
+            return fullForm(address, false);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int group = 0; group < bestStart; group++) {
+            text.append(Integer.toHexString(group(address, group))).append(':');
+        }
+        text.append(bestStart == 0 ? "::" : ":");
+        for (int group = bestStart + bestLength; group < 8; group++) {
+            text.append(Integer.toHexString(group(address, group)));
+            if (group < 7) {
+                text.append(':');
+            }
+        }
+        return text.toString();
+    }
+
+    private static int group(byte[] address, int group) {
+        return (address[2 * group] & 0xFF) << 8 | address[2 * group + 1] & 0xFF;
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.util.ReflectionTestUtils.getField;
+
+class LongLongMapTest {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    @Test
+    void get_shouldReturnZero_whenKeyIsAbsent() {
+        LongLongMap map = new LongLongMap();
+
+        assertEquals(0, map.get(42));
+        assertEquals(-1, map.getOrDefault(42, -1));
+        assertFalse(map.containsKey(42));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void put_shouldStoreZeroKeySeparately_whenKeyIsZero() {
+        LongLongMap map = new LongLongMap();
+
+        map.put(0, 5);
+        map.put(0, 7);
+        map.put(1, 1);
+
+        assertEquals(7, map.get(0));
+        assertTrue(map.containsKey(0));
+        assertEquals(2, map.size());
+        assertEquals("{0=7, 1=1}", map.toString());
+    }
+
+    @Test
+    void put_shouldKeepAllKeys_whenKeysShareInitialSlot() {
+        LongLongMap map = new LongLongMap();
+        List<Long> keys = keysWithSlot(0, 8, 5);
+
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i + 1);
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i + 1, map.get(keys.get(i)));
+        }
+        assertEquals(keys.size(), map.size());
+        // Ключ из той же цепочки, которого нет в карте, не находится
+        assertFalse(map.containsKey(keysWithSlot(0, 8, 6).getLast()));
+    }
+
+    @Test
+    void put_shouldKeepValues_whenTableGrows() {
+        LongLongMap map = new LongLongMap(1);
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 3);
+        }
+
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key * 3, map.get(key));
+        }
+        assertFalse(map.containsKey(10_001));
+    }
+
+    @Test
+    void addTo_shouldMatchHashMap_whenKeysAreRandomAndRepeated() {
+        Random random = new Random(11);
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        long[] patterns = {0, Long.MIN_VALUE, Long.MAX_VALUE, -1, 1L << 32, 1L << 62};
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = switch (i % 4) {
+                case 0 -> random.nextLong();
+                case 1 -> random.nextInt(1_000);
+                case 2 -> (long) random.nextInt(1_000) << 40;
+                default -> patterns[random.nextInt(patterns.length)];
+            };
+            long delta = random.nextInt(100) - 50;
+            map.addTo(key, delta);
+            expected.merge(key, delta, Long::sum);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key), "key " + key));
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value), "key " + key + " visited twice"));
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void constructor_shouldNotGrow_whenExpectedSizeIsReached() {
+        LongLongMap map = new LongLongMap(1_000);
+        long[] keysBefore = (long[]) getField(map, "keys");
+
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key);
+        }
+
+        assertSame(keysBefore, getField(map, "keys"));
+    }
+
+    // Ключи, чья первая ячейка в таблице заданного размера равна slot: так проверяется линейное пробирование
+    private static List<Long> keysWithSlot(int slot, int capacity, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if (((int) ((key * PHI) >>> 32) & (capacity - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
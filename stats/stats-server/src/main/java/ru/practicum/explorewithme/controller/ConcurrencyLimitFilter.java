@@ -0,0 +1,80 @@
+package ru.practicum.explorewithme.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничивает число запросов, одновременно обращающихся к БД статистики; лимит задаётся в долях пула соединений.
+ * Копия ConcurrencyLimitFilter из main-service: общего веб-модуля у сервисов нет.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${stats.concurrency.requests-per-connection:3}") int requestsPerConnection,
+                                  @Value("${stats.concurrency.queue-timeout:2s}") Duration queueTimeout,
+                                  MeterRegistry meterRegistry) {
+        int maxRequests = poolSize * requestsPerConnection;
+        this.permits = new Semaphore(maxRequests, true);
+        this.queueTimeout = queueTimeout;
+
+        Gauge.builder("stats.concurrency.active", permits, p -> maxRequests - p.availablePermits())
+                .description("Запросы, выполняющиеся в пределах лимита")
+                .register(meterRegistry);
+        Gauge.builder("stats.concurrency.queued", permits, Semaphore::getQueueLength)
+                .description("Запросы, ожидающие свободного слота")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("stats.concurrency.rejected")
+                .description("Запросы, отклонённые с 503")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Запрос {} {} отклонён: нет свободных слотов", request.getMethod(), request.getRequestURI());
+            rejected.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
@@ -1,9 +1,16 @@
 package ru.practicum.explorewithme.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.StatsDto;
@@ -11,7 +18,11 @@ import ru.practicum.StatsParams;
 import ru.practicum.StatsView;
 import ru.practicum.explorewithme.service.StatsService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -20,6 +31,8 @@ import java.util.List;
 public class StatsController {
 
     private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,6 +42,37 @@ public class StatsController {
         log.info("Запрос post/hit успешно обработан.");
     }
 
+    @PostMapping(path = "/hit/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    void saveHits(@NotEmpty @RequestBody List<@Valid StatsDto> statsDtos) {
+        log.info("Поступил запрос post/hit/batch на создание {} hit", statsDtos.size());
+        statsService.saveHits(statsDtos);
+        log.info("Запрос post/hit/batch успешно обработан.");
+    }
+
+    @PostMapping(path = "/hit/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    void saveHitsStream(InputStream body) throws IOException {
+        List<StatsDto> statsDtos = new ArrayList<>();
+        try (MappingIterator<StatsDto> iterator = objectMapper.readerFor(StatsDto.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                StatsDto statsDto = iterator.nextValue();
+                Set<ConstraintViolation<StatsDto>> violations = validator.validate(statsDto);
+                if (!violations.isEmpty()) {
+                    throw new ConstraintViolationException(violations);
+                }
+                statsDtos.add(statsDto);
+            }
+        }
+        // Пустой пакет отклоняется так же, как @NotEmpty для JSON-массива
+        if (statsDtos.isEmpty()) {
+            throw new ConstraintViolationException("must not be empty", Set.of());
+        }
+        log.info("Поступил NDJSON-запрос post/hit/batch на создание {} hit", statsDtos.size());
+        statsService.saveHits(statsDtos);
+        log.info("Запрос post/hit/batch успешно обработан.");
+    }
+
     @GetMapping("/stats")
     @ResponseStatus(HttpStatus.OK)
     List<StatsView> getStat(@Valid @ModelAttribute StatsParams params) {
@@ -1,9 +1,13 @@
 package ru.practicum.explorewithme.error;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -40,6 +44,28 @@ public class GlobalExceptionHandler {
         return getResponseEntity(HttpStatus.BAD_REQUEST, "Invalid input", message, stackTrace);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiError> handleConstraintViolation(final ConstraintViolationException ex) {
+        log.warn("400 {}", ex.getMessage());
+
+        String message = ex.getConstraintViolations().stream()
+                .findFirst()
+                .map(ConstraintViolation::getMessage)
+                .orElse(ex.getMessage());
+
+        String stackTrace = getStackTrace(ex);
+        return getResponseEntity(HttpStatus.BAD_REQUEST, "Invalid input", message, stackTrace);
+    }
+
+    @ExceptionHandler({HttpMessageNotReadableException.class, JsonProcessingException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiError> handleNotReadable(final Exception ex) {
+        log.warn("400 {}", ex.getMessage());
+        String stackTrace = getStackTrace(ex);
+        return getResponseEntity(HttpStatus.BAD_REQUEST, "Invalid JSON", ex.getMessage(), stackTrace);
+    }
+
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiError handleNotFoundException(final NotFoundException ex) {
@@ -1,14 +1,22 @@
 package ru.practicum.explorewithme.mapper;
 
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.StatsDto;
 import ru.practicum.explorewithme.model.Stats;
+import ru.practicum.explorewithme.repository.StatsDictionaryRepository;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface StatsMapper {
 
     @Mapping(target = "id", ignore = true)
-    Stats toStats(StatsDto statsDto);
+    @Mapping(target = "appId", expression = "java(dictionary.getOrCreateAppId(statsDto.getApp()))")
+    @Mapping(target = "uriId", expression = "java(dictionary.getOrCreateUriId(statsDto.getUri()))")
+    Stats toStats(StatsDto statsDto, @Context StatsDictionaryRepository dictionary);
+
+    List<Stats> toStatsList(List<StatsDto> statsDtos, @Context StatsDictionaryRepository dictionary);
 
 }
@@ -0,0 +1,31 @@
+package ru.practicum.explorewithme.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import ru.practicum.IpAddresses;
+
+/**
+ * Хранит IP в упакованном виде: 4 байта для IPv4 и 16 для IPv6 вместо строки до 45 символов.
+ */
+@Converter
+public class IpAddressConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String ip) {
+        return ip == null ? null : pack(ip);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : unpack(bytes);
+    }
+
+    // Формат совпадает с InetAddress.getAddress()/getHostAddress(), поэтому ранее сохранённые адреса и скетчи не меняются
+    public static byte[] pack(String ip) {
+        return IpAddresses.pack(ip);
+    }
+
+    public static String unpack(byte[] bytes) {
+        return IpAddresses.format(bytes);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.explorewithme.model;
+
+import java.time.LocalDateTime;
+
+public record RollupKey(RollupGranularity granularity, LocalDateTime bucketStart, Integer appId, Long uriId) {
+
+    public RollupKey coarsen(RollupGranularity coarser) {
+        return new RollupKey(coarser, coarser.floor(bucketStart), appId, uriId);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.explorewithme.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Полуинтервал [from, to), целиком покрытый корзинами одной гранулярности.
+ */
+public record RollupRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+
+    /**
+     * Разбивает [from, to) на минимальный набор диапазонов: дни в середине, часы и минуты по краям.
+     * Границы должны быть выровнены по минуте.
+     */
+    public static List<RollupRange> cover(LocalDateTime from, LocalDateTime to) {
+        List<RollupRange> ranges = new ArrayList<>();
+        cover(from, to, RollupGranularity.DAY, ranges);
+        return ranges;
+    }
+
+    private static void cover(LocalDateTime from, LocalDateTime to, RollupGranularity granularity,
+                              List<RollupRange> ranges) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        LocalDateTime alignedFrom = granularity.ceil(from);
+        LocalDateTime alignedTo = granularity.floor(to);
+        if (granularity == RollupGranularity.MINUTE || alignedFrom.isBefore(alignedTo)) {
+            ranges.add(new RollupRange(granularity, alignedFrom, alignedTo));
+        }
+        if (granularity == RollupGranularity.MINUTE) {
+            return;
+        }
+        RollupGranularity finer = RollupGranularity.values()[granularity.ordinal() - 1];
+        if (alignedFrom.isBefore(alignedTo)) {
+            cover(from, alignedFrom, finer, ranges);
+            cover(alignedTo, to, finer, ranges);
+        } else {
+            cover(from, to, finer, ranges);
+        }
+    }
+}
@@ -19,13 +19,14 @@ public class Stats {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "app", nullable = false, length = 255)
-    private String app;
+    @Column(name = "app_id", nullable = false)
+    private Integer appId;
 
-    @Column(name = "uri", nullable = false, length = 2048)
-    private String uri;
+    @Column(name = "uri_id", nullable = false)
+    private Long uriId;
 
-    @Column(name = "ip", nullable = false, length = 45)
+    @Convert(converter = IpAddressConverter.class)
+    @Column(name = "ip", nullable = false, length = 16)
     private String ip;
 
     @Column(name = "timestamp", nullable = false)
@@ -0,0 +1,8 @@
+package ru.practicum.explorewithme.model;
+
+public record StatsHits(Integer appId, Long uriId, Long hits) {
+
+    public StatsKey key() {
+        return new StatsKey(appId, uriId);
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.explorewithme.model;
+
+public record StatsKey(Integer appId, Long uriId) {
+}
@@ -0,0 +1,30 @@
+package ru.practicum.explorewithme.model;
+
+/**
+ * Запись справочника uri. Для uri вида /{entity}/{id} сущность и id разбираются один раз при добавлении в справочник.
+ */
+public record StatsUri(String uri, String entity, Long entityId) {
+
+    // Больше 18 цифр может не поместиться в long
+    private static final int MAX_ID_DIGITS = 18;
+
+    public static StatsUri of(String uri) {
+        int slash = uri.indexOf('/', 1);
+        if (!uri.startsWith("/") || slash < 2) {
+            return new StatsUri(uri, null, null);
+        }
+        int digits = uri.length() - slash - 1;
+        if (digits == 0 || digits > MAX_ID_DIGITS) {
+            return new StatsUri(uri, null, null);
+        }
+        long id = 0;
+        for (int i = slash + 1; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c < '0' || c > '9') {
+                return new StatsUri(uri, null, null);
+            }
+            id = id * 10 + (c - '0');
+        }
+        return new StatsUri(uri, uri.substring(1, slash), id);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.explorewithme.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.model.Stats;
+
+import java.util.List;
+
+public interface StatsBatchRepository {
+
+    @Transactional
+    void insertAll(List<Stats> stats);
+
+}
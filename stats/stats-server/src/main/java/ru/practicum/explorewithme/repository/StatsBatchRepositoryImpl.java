@@ -0,0 +1,40 @@
+package ru.practicum.explorewithme.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.explorewithme.model.IpAddressConverter;
+import ru.practicum.explorewithme.model.Stats;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Пакетная вставка хитов через JDBC: IDENTITY-ключ не позволяет Hibernate группировать INSERT-ы.
+ */
+public class StatsBatchRepositoryImpl implements StatsBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO stats (app_id, uri_id, ip, timestamp) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public StatsBatchRepositoryImpl(JdbcTemplate jdbcTemplate, @Value("${stats.hit.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertAll(List<Stats> stats) {
+        // Та же зона, что и hibernate.jdbc.time_zone, чтобы JPA-запросы читали время без сдвига
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, stats, batchSize, (ps, hit) -> {
+            ps.setInt(1, hit.getAppId());
+            ps.setLong(2, hit.getUriId());
+            ps.setBytes(3, IpAddressConverter.pack(hit.getIp()));
+            ps.setTimestamp(4, Timestamp.valueOf(hit.getTimestamp()), utc);
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.explorewithme.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.explorewithme.model.StatsUri;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Справочники приложений и uri: в stats хранятся только их id.
+ * Словари кешируются в обе стороны; кеши ограничены по размеру, вытесненная запись перечитывается из БД.
+ */
+@Repository
+public class StatsDictionaryRepository {
+
+    private static final int IN_CLAUSE_LIMIT = 1000;
+    private static final RowMapper<StatsUri> URI_ROW_MAPPER = (rs, rowNum) ->
+            new StatsUri(rs.getString("uri"), rs.getString("entity"), rs.getObject("entity_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final Cache<String, Integer> appIds;
+    private final Cache<Integer, String> appNames;
+    private final Cache<String, Long> uriIds;
+    private final Cache<Long, StatsUri> uris;
+
+    public StatsDictionaryRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${stats.dictionary.cache-size:100000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.appIds = cache(cacheSize, meterRegistry, "stats.dictionary.app.ids");
+        this.appNames = cache(cacheSize, meterRegistry, "stats.dictionary.app.names");
+        this.uriIds = cache(cacheSize, meterRegistry, "stats.dictionary.uri.ids");
+        this.uris = cache(cacheSize, meterRegistry, "stats.dictionary.uris");
+    }
+
+    public Integer getOrCreateAppId(String name) {
+        Integer id = appIds.getIfPresent(name);
+        if (id == null) {
+            id = getOrCreate("stats_app", "name", name, Integer.class,
+                    () -> jdbcTemplate.update("INSERT INTO stats_app (name) VALUES (?)", name));
+            appIds.put(name, id);
+            appNames.put(id, name);
+        }
+        return id;
+    }
+
+    public Long getOrCreateUriId(String uri) {
+        Long id = uriIds.getIfPresent(uri);
+        if (id == null) {
+            StatsUri entry = StatsUri.of(uri);
+            id = getOrCreate("stats_uri", "uri", uri, Long.class,
+                    () -> jdbcTemplate.update("INSERT INTO stats_uri (uri, entity, entity_id) VALUES (?, ?, ?)",
+                            uri, entry.entity(), entry.entityId()));
+            uriIds.put(uri, id);
+            uris.put(id, entry);
+        }
+        return id;
+    }
+
+    /**
+     * Id уже известных uri; по uri, которые ни разу не приходили, хитов быть не может.
+     */
+    public List<Long> findUriIds(List<String> values) {
+        return values.stream()
+                .map(uri -> uriIds.get(uri, this::findUriId))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Id uri вида /{entity}/{id} с id из списка и/или диапазона; null в параметрах означает отсутствие ограничения.
+     * Найденные записи попадают в кеш, так что getUriEntry по ним не обращается к БД.
+     */
+    public List<Long> findEntityUriIds(String entity, List<Long> entityIds, Long idFrom, Long idTo) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("entity", entity)
+                .addValue("idFrom", idFrom)
+                .addValue("idTo", idTo);
+        String sql = "SELECT id, uri, entity, entity_id FROM stats_uri WHERE entity = :entity" +
+                (idFrom != null ? " AND entity_id >= :idFrom" : "") +
+                (idTo != null ? " AND entity_id <= :idTo" : "");
+        if (entityIds == null) {
+            return findUriIds(sql, params);
+        }
+        List<Long> ids = new ArrayList<>();
+        List<Long> distinctIds = entityIds.stream().distinct().toList();
+        for (int i = 0; i < distinctIds.size(); i += IN_CLAUSE_LIMIT) {
+            params.addValue("entityIds", distinctIds.subList(i, Math.min(i + IN_CLAUSE_LIMIT, distinctIds.size())));
+            ids.addAll(findUriIds(sql + " AND entity_id IN (:entityIds)", params));
+        }
+        return ids;
+    }
+
+    public String getAppName(Integer id) {
+        return appNames.get(id, key ->
+                jdbcTemplate.queryForObject("SELECT name FROM stats_app WHERE id = ?", String.class, key));
+    }
+
+    public StatsUri getUriEntry(Long id) {
+        return uris.get(id, key -> jdbcTemplate.queryForObject(
+                "SELECT uri, entity, entity_id FROM stats_uri WHERE id = ?", URI_ROW_MAPPER, key));
+    }
+
+    private List<Long> findUriIds(String sql, MapSqlParameterSource params) {
+        return namedJdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            Long id = rs.getLong("id");
+            StatsUri entry = URI_ROW_MAPPER.mapRow(rs, rowNum);
+            uris.put(id, entry);
+            uriIds.put(entry.uri(), id);
+            return id;
+        });
+    }
+
+    private static <K, V> Cache<K, V> cache(long maximumSize, MeterRegistry meterRegistry, String name) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    private Long findUriId(String uri) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM stats_uri WHERE uri = ?", Long.class, uri);
+        return ids.isEmpty() ? null : ids.getFirst();
+    }
+
+    // Вставка в отдельной транзакции: конфликт с параллельной вставкой не должен откатывать чужую транзакцию
+    private <T> T getOrCreate(String table, String column, String value, Class<T> idType, Runnable insert) {
+        String select = "SELECT id FROM " + table + " WHERE " + column + " = ?";
+        try {
+            return newTransaction.execute(status -> {
+                List<T> ids = jdbcTemplate.queryForList(select, idType, value);
+                if (!ids.isEmpty()) {
+                    return ids.getFirst();
+                }
+                insert.run();
+                return jdbcTemplate.queryForObject(select, idType, value);
+            });
+        } catch (DuplicateKeyException e) {
+            // Параллельный запрос успел добавить то же значение
+            return jdbcTemplate.queryForObject(select, idType, value);
+        }
+    }
+}
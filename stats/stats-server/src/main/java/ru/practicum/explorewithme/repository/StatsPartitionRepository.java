@@ -0,0 +1,29 @@
+package ru.practicum.explorewithme.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+/**
+ * Помесячные секции stats (только PostgreSQL, функция создаётся миграциями V1 и V4).
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatsPartitionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Создаёт секцию за месяц, если её ещё нет.
+     *
+     * @return число хитов за месяц, перенесённых в новую секцию из stats_default
+     */
+    public long createPartition(YearMonth month) {
+        Long moved = jdbcTemplate.queryForObject("SELECT create_stats_partition(?)", Long.class,
+                Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+        return moved == null ? 0 : moved;
+    }
+}
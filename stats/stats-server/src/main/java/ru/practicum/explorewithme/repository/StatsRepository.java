@@ -4,37 +4,55 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import ru.practicum.StatsView;
 import ru.practicum.explorewithme.model.Stats;
+import ru.practicum.explorewithme.model.StatsHits;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface StatsRepository extends JpaRepository<Stats, Long> {
+public interface StatsRepository extends JpaRepository<Stats, Long>, StatsBatchRepository {
 
-    @Query("SELECT new ru.practicum.StatsView(s.app, s.uri, COUNT(s.id)) " +
+    // Хиты, ещё не попавшие в stats_rollup: края интервала вне покрытия и хвост после водяного знака
+    @Query("SELECT new ru.practicum.explorewithme.model.StatsHits(s.appId, s.uriId, COUNT(s.id)) " +
             "FROM Stats s " +
             "WHERE s.timestamp BETWEEN :start AND :end " +
-            "AND (:uris IS NULL OR s.uri IN :uris) " +
-            "GROUP BY s.app, s.uri " +
-            "ORDER BY COUNT(s.id) DESC")
-    List<StatsView> findAllByTimestampBetweenAndUriIn(
+            "AND (:uriIds IS NULL OR s.uriId IN :uriIds) " +
+            "AND (s.timestamp < :coveredFrom OR s.timestamp >= :coveredTo OR s.id > :rolledUpId) " +
+            "GROUP BY s.appId, s.uriId")
+    List<StatsHits> findNotRolledUp(
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end,
-            @Param("uris") List<String> uris
+            @Param("uriIds") List<Long> uriIds,
+            @Param("coveredFrom") LocalDateTime coveredFrom,
+            @Param("coveredTo") LocalDateTime coveredTo,
+            @Param("rolledUpId") long rolledUpId
+    );
+
+    @Query("SELECT DISTINCT s.appId, s.uriId, s.ip " +
+            "FROM Stats s " +
+            "WHERE s.timestamp BETWEEN :start AND :end " +
+            "AND (:uriIds IS NULL OR s.uriId IN :uriIds) " +
+            "AND (s.timestamp < :coveredFrom OR s.timestamp >= :coveredTo OR s.id > :rolledUpId)")
+    List<Object[]> findNotRolledUpIps(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("uriIds") List<Long> uriIds,
+            @Param("coveredFrom") LocalDateTime coveredFrom,
+            @Param("coveredTo") LocalDateTime coveredTo,
+            @Param("rolledUpId") long rolledUpId
     );
 
     // Метод для подсчета уникальных IP
-    @Query("SELECT new ru.practicum.StatsView(s.app, s.uri, COUNT(DISTINCT s.ip)) " +
+    @Query("SELECT new ru.practicum.explorewithme.model.StatsHits(s.appId, s.uriId, COUNT(DISTINCT s.ip)) " +
             "FROM Stats s " +
             "WHERE s.timestamp BETWEEN :start AND :end " +
-            "AND (:uris IS NULL OR s.uri IN :uris) " +
-            "GROUP BY s.app, s.uri " +
+            "AND (:uriIds IS NULL OR s.uriId IN :uriIds) " +
+            "GROUP BY s.appId, s.uriId " +
             "ORDER BY COUNT(DISTINCT s.ip) DESC")
-    List<StatsView> findAllUniqueIpAndTimestampBetweenAndUriIn(
+    List<StatsHits> findAllUniqueIpAndTimestampBetweenAndUriIn(
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end,
-            @Param("uris") List<String> uris
+            @Param("uriIds") List<Long> uriIds
     );
-}
\ No newline at end of file
+}
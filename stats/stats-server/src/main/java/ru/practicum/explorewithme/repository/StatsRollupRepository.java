@@ -0,0 +1,260 @@
+package ru.practicum.explorewithme.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.explorewithme.model.IpAddressConverter;
+import ru.practicum.explorewithme.model.RollupGranularity;
+import ru.practicum.explorewithme.model.RollupKey;
+import ru.practicum.explorewithme.model.RollupRange;
+import ru.practicum.explorewithme.model.StatsHits;
+import ru.practicum.explorewithme.model.StatsKey;
+import ru.practicum.explorewithme.util.HyperLogLog;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+/**
+ * Предагрегированные счётчики хитов по корзинам (минута, час, день) и скетчи уникальных IP (час, день).
+ * Водяной знак rolled_up_id: все хиты с id не больше него уже учтены в stats_rollup.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatsRollupRepository {
+
+    private static final String AGGREGATE_MINUTES_SQL = "SELECT DATE_TRUNC('minute', timestamp) AS bucket_start, " +
+            "app_id, uri_id, COUNT(*) AS hits FROM stats WHERE id > ? AND id <= ? " +
+            "GROUP BY DATE_TRUNC('minute', timestamp), app_id, uri_id";
+    private static final String UPDATE_SQL = "UPDATE stats_rollup SET hits = hits + ? " +
+            "WHERE granularity = ? AND bucket_start = ? AND app_id = ? AND uri_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO stats_rollup (hits, granularity, bucket_start, app_id, uri_id) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_HITS_SQL = "SELECT timestamp, app_id, uri_id, ip FROM stats WHERE id > ? AND id <= ?";
+    private static final String UPDATE_SKETCH_SQL = "UPDATE stats_hll SET sketch = ? " +
+            "WHERE granularity = ? AND bucket_start = ? AND app_id = ? AND uri_id = ?";
+    private static final String INSERT_SKETCH_SQL = "INSERT INTO stats_hll (sketch, granularity, bucket_start, app_id, uri_id) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public record Watermark(long rolledUpId, long pendingId) {
+    }
+
+    public long findRolledUpId() {
+        return jdbcTemplate.queryForObject("SELECT rolled_up_id FROM stats_rollup_state WHERE id = 1", Long.class);
+    }
+
+    /**
+     * Блокирует строку состояния до конца транзакции, чтобы свёртку выполнял только один экземпляр сервиса.
+     */
+    public Watermark lockWatermark() {
+        return jdbcTemplate.queryForObject(
+                "SELECT rolled_up_id, pending_id FROM stats_rollup_state WHERE id = 1 FOR UPDATE",
+                (rs, rowNum) -> new Watermark(rs.getLong("rolled_up_id"), rs.getLong("pending_id")));
+    }
+
+    public void saveWatermark(Watermark watermark) {
+        jdbcTemplate.update("UPDATE stats_rollup_state SET rolled_up_id = ?, pending_id = ? WHERE id = 1",
+                watermark.rolledUpId(), watermark.pendingId());
+    }
+
+    public long findMaxStatsId() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM stats", Long.class);
+    }
+
+    public Map<RollupKey, Long> aggregateMinutes(long fromIdExclusive, long toIdInclusive) {
+        Calendar utc = utc();
+        Map<RollupKey, Long> hits = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_MINUTES_SQL, rs -> {
+            RollupKey key = new RollupKey(RollupGranularity.MINUTE,
+                    rs.getTimestamp("bucket_start", utc).toLocalDateTime(),
+                    rs.getInt("app_id"),
+                    rs.getLong("uri_id"));
+            hits.put(key, rs.getLong("hits"));
+        }, fromIdExclusive, toIdInclusive);
+        return hits;
+    }
+
+    /**
+     * Прибавляет счётчики к существующим корзинам и создаёт недостающие.
+     * Безопасно только под блокировкой {@link #lockWatermark()}.
+     */
+    public void addHits(Map<RollupKey, Long> hits) {
+        List<Map.Entry<RollupKey, Long>> entries = new ArrayList<>(hits.entrySet());
+        Calendar utc = utc();
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, entries, entries.size(),
+                (ps, entry) -> bind(ps, entry, utc));
+
+        List<Map.Entry<RollupKey, Long>> missing = new ArrayList<>();
+        int i = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(entries.get(i));
+                }
+                i++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing, missing.size(), (ps, entry) -> bind(ps, entry, utc));
+        }
+    }
+
+    public List<StatsHits> sumHits(List<RollupRange> ranges, List<Long> uriIds) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT app_id, uri_id, SUM(hits) AS hits FROM stats_rollup WHERE "
+                + rangeConditions(ranges, uriIds, params) + " GROUP BY app_id, uri_id";
+        return namedJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new StatsHits(rs.getInt("app_id"), rs.getLong("uri_id"), rs.getLong("hits")));
+    }
+
+    /**
+     * Строит часовые и дневные скетчи уникальных IP по хитам из диапазона id.
+     */
+    public Map<RollupKey, HyperLogLog> collectSketches(long fromIdExclusive, long toIdInclusive) {
+        Calendar utc = utc();
+        Map<RollupKey, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(SELECT_HITS_SQL, rs -> {
+            RollupKey key = new RollupKey(RollupGranularity.HOUR,
+                    RollupGranularity.HOUR.floor(rs.getTimestamp("timestamp", utc).toLocalDateTime()),
+                    rs.getInt("app_id"),
+                    rs.getLong("uri_id"));
+            String ip = IpAddressConverter.unpack(rs.getBytes("ip"));
+            sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(ip);
+            sketches.computeIfAbsent(key.coarsen(RollupGranularity.DAY), k -> new HyperLogLog()).add(ip);
+        }, fromIdExclusive, toIdInclusive);
+        return sketches;
+    }
+
+    /**
+     * Объединяет скетчи с сохранёнными. Безопасно только под блокировкой {@link #lockWatermark()}.
+     */
+    public void mergeSketches(Map<RollupKey, HyperLogLog> sketches) {
+        Map<RollupKey, HyperLogLog> existing = new HashMap<>();
+        Map<RollupKey, HyperLogLog> created = new HashMap<>();
+        sketches.keySet().stream()
+                .collect(Collectors.groupingBy(RollupKey::granularity,
+                        Collectors.groupingBy(RollupKey::bucketStart, Collectors.toSet())))
+                .forEach((granularity, buckets) -> buckets.forEach((bucketStart, keys) ->
+                        loadSketches(granularity, bucketStart, keys).forEach((key, stored) -> {
+                            stored.merge(sketches.get(key));
+                            existing.put(key, stored);
+                        })));
+        sketches.forEach((key, sketch) -> {
+            if (!existing.containsKey(key)) {
+                created.put(key, sketch);
+            }
+        });
+
+        Calendar utc = utc();
+        jdbcTemplate.batchUpdate(UPDATE_SKETCH_SQL, new ArrayList<>(existing.entrySet()), IN_CLAUSE_LIMIT,
+                (ps, entry) -> bindSketch(ps, entry, utc));
+        jdbcTemplate.batchUpdate(INSERT_SKETCH_SQL, new ArrayList<>(created.entrySet()), IN_CLAUSE_LIMIT,
+                (ps, entry) -> bindSketch(ps, entry, utc));
+    }
+
+    /**
+     * Объединяет сохранённые скетчи по диапазонам в один скетч на пару (app, uri).
+     */
+    public Map<StatsKey, HyperLogLog> mergeSketches(List<RollupRange> ranges, List<Long> uriIds) {
+        Map<StatsKey, HyperLogLog> sketches = new HashMap<>();
+        if (ranges.isEmpty()) {
+            return sketches;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT app_id, uri_id, sketch FROM stats_hll WHERE " + rangeConditions(ranges, uriIds, params);
+        namedJdbcTemplate.query(sql, params, rs -> {
+            HyperLogLog sketch = HyperLogLog.fromBytes(rs.getBytes("sketch"));
+            sketches.merge(new StatsKey(rs.getInt("app_id"), rs.getLong("uri_id")), sketch, (left, right) -> {
+                left.merge(right);
+                return left;
+            });
+        });
+        return sketches;
+    }
+
+    private Map<RollupKey, HyperLogLog> loadSketches(RollupGranularity granularity, LocalDateTime bucketStart,
+                                                     Set<RollupKey> keys) {
+        Map<RollupKey, HyperLogLog> stored = new HashMap<>();
+        List<Long> uriIds = keys.stream().map(RollupKey::uriId).distinct().toList();
+        for (int i = 0; i < uriIds.size(); i += IN_CLAUSE_LIMIT) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("granularity", granularity.name())
+                    .addValue("bucketStart", toTimestamp(bucketStart))
+                    .addValue("uriIds", uriIds.subList(i, Math.min(i + IN_CLAUSE_LIMIT, uriIds.size())));
+            namedJdbcTemplate.query("SELECT app_id, uri_id, sketch FROM stats_hll " +
+                    "WHERE granularity = :granularity AND bucket_start = :bucketStart AND uri_id IN (:uriIds)", params, rs -> {
+                RollupKey key = new RollupKey(granularity, bucketStart, rs.getInt("app_id"), rs.getLong("uri_id"));
+                if (keys.contains(key)) {
+                    stored.put(key, HyperLogLog.fromBytes(rs.getBytes("sketch")));
+                }
+            });
+        }
+        return stored;
+    }
+
+    private static String rangeConditions(List<RollupRange> ranges, List<Long> uriIds, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            RollupRange range = ranges.get(i);
+            conditions.add("(granularity = :g" + i + " AND bucket_start >= :f" + i + " AND bucket_start < :t" + i + ")");
+            params.addValue("g" + i, range.granularity().name());
+            params.addValue("f" + i, toTimestamp(range.from()));
+            params.addValue("t" + i, toTimestamp(range.to()));
+        }
+        String sql = "(" + String.join(" OR ", conditions) + ")";
+        if (uriIds != null) {
+            sql += " AND uri_id IN (:uriIds)";
+            params.addValue("uriIds", uriIds);
+        }
+        return sql;
+    }
+
+    private static void bindSketch(PreparedStatement ps, Map.Entry<RollupKey, HyperLogLog> entry, Calendar utc)
+            throws SQLException {
+        RollupKey key = entry.getKey();
+        ps.setBytes(1, entry.getValue().toBytes());
+        ps.setString(2, key.granularity().name());
+        ps.setTimestamp(3, Timestamp.valueOf(key.bucketStart()), utc);
+        ps.setInt(4, key.appId());
+        ps.setLong(5, key.uriId());
+    }
+
+    private static void bind(PreparedStatement ps, Map.Entry<RollupKey, Long> entry, Calendar utc) throws SQLException {
+        RollupKey key = entry.getKey();
+        ps.setLong(1, entry.getValue());
+        ps.setString(2, key.granularity().name());
+        ps.setTimestamp(3, Timestamp.valueOf(key.bucketStart()), utc);
+        ps.setInt(4, key.appId());
+        ps.setLong(5, key.uriId());
+    }
+
+    // Время в БД хранится в UTC (hibernate.jdbc.time_zone), LocalDateTime трактуем так же
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.from(dateTime.toInstant(ZoneOffset.UTC));
+    }
+
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
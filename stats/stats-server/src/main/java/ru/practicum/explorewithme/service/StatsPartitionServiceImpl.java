@@ -0,0 +1,52 @@
+package ru.practicum.explorewithme.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
+import ru.practicum.explorewithme.repository.StatsPartitionRepository;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Заранее создаёт секции stats на ближайшие месяцы, чтобы новые хиты не попадали в секцию по умолчанию.
+ * Хиты за месяц, уже попавшие в stats_default, переносятся в созданную секцию.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "stats.partitions", name = "enabled", havingValue = "true")
+public class StatsPartitionServiceImpl implements StatsPartitionService {
+
+    private final StatsPartitionRepository partitionRepository;
+
+    @Value("${stats.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                long moved = partitionRepository.createPartition(month);
+                if (moved > 0) {
+                    log.warn("Секция stats за {} создана, из stats_default в неё перенесено {} хитов", month, moved);
+                }
+            } catch (DataAccessException e) {
+                log.error("Не удалось создать секцию stats за {}: {}", month, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.explorewithme.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
+import ru.practicum.explorewithme.model.RollupGranularity;
+import ru.practicum.explorewithme.model.RollupKey;
+import ru.practicum.explorewithme.repository.StatsRollupRepository;
+import ru.practicum.explorewithme.repository.StatsRollupRepository.Watermark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Переносит новые хиты из stats в stats_rollup и скетчи уникальных IP stats_hll.
+ * Сворачиваются только id, увиденные предыдущим запуском: IDENTITY выдаёт id до коммита,
+ * и транзакция с меньшим id может зафиксироваться позже транзакции с большим.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class StatsRollupServiceImpl implements StatsRollupService {
+
+    private final StatsRollupRepository rollupRepository;
+
+    @Value("${stats.rollup.chunk-size:100000}")
+    private long chunkSize;
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${stats.rollup.interval-ms:60000}")
+    public void rollup() {
+        Watermark watermark = rollupRepository.lockWatermark();
+        long rolledUpId = watermark.rolledUpId();
+        long target = watermark.pendingId();
+
+        while (rolledUpId < target) {
+            long chunkEnd = Math.min(rolledUpId + chunkSize, target);
+            Map<RollupKey, Long> minutes = rollupRepository.aggregateMinutes(rolledUpId, chunkEnd);
+            rollupRepository.addHits(withCoarserBuckets(minutes));
+            rollupRepository.mergeSketches(rollupRepository.collectSketches(rolledUpId, chunkEnd));
+            rolledUpId = chunkEnd;
+        }
+
+        rollupRepository.saveWatermark(new Watermark(rolledUpId, rollupRepository.findMaxStatsId()));
+        if (rolledUpId > watermark.rolledUpId()) {
+            log.debug("Свёрнуты хиты с id {} по {}", watermark.rolledUpId() + 1, rolledUpId);
+        }
+    }
+
+    private static Map<RollupKey, Long> withCoarserBuckets(Map<RollupKey, Long> minutes) {
+        Map<RollupKey, Long> hits = new HashMap<>(minutes);
+        minutes.forEach((key, count) -> {
+            hits.merge(key.coarsen(RollupGranularity.HOUR), count, Long::sum);
+            hits.merge(key.coarsen(RollupGranularity.DAY), count, Long::sum);
+        });
+        return hits;
+    }
+}
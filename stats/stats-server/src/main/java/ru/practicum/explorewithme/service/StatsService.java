@@ -9,6 +9,8 @@ import java.util.List;
 public interface StatsService {
     void saveHit(StatsDto statsDto);
 
+    void saveHits(List<StatsDto> statsDtos);
+
     List<StatsView> getStats(StatsParams param);
 }
 
@@ -1,51 +1,138 @@
 package ru.practicum.explorewithme.service;
 
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.StatsDto;
 import ru.practicum.StatsParams;
 import ru.practicum.StatsView;
 import ru.practicum.explorewithme.mapper.StatsMapper;
+import ru.practicum.explorewithme.metrics.MetricsConfig;
+import ru.practicum.explorewithme.model.RollupGranularity;
+import ru.practicum.explorewithme.model.RollupRange;
 import ru.practicum.explorewithme.model.Stats;
+import ru.practicum.explorewithme.model.StatsHits;
+import ru.practicum.explorewithme.model.StatsKey;
+import ru.practicum.explorewithme.model.StatsUri;
+import ru.practicum.explorewithme.repository.StatsDictionaryRepository;
 import ru.practicum.explorewithme.repository.StatsRepository;
+import ru.practicum.explorewithme.repository.StatsRollupRepository;
+import ru.practicum.explorewithme.util.HyperLogLog;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class StatsServiceImpl implements StatsService {
 
     private final StatsRepository statsRepository;
+    private final StatsRollupRepository rollupRepository;
+    private final StatsDictionaryRepository dictionary;
     private final StatsMapper mapper;
 
+    // Словарные id создаются в отдельных транзакциях (REQUIRES_NEW), хиты вставляются в транзакции метода
     @Override
     @Transactional
     public void saveHit(StatsDto statsDto) {
-        Stats stats = mapper.toStats(statsDto);
+        Stats stats = mapper.toStats(statsDto, dictionary);
         statsRepository.save(stats);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    public void saveHits(List<StatsDto> statsDtos) {
+        List<Stats> stats = mapper.toStatsList(statsDtos, dictionary);
+        statsRepository.insertAll(stats);
+        log.debug("Сохранено {} hit одной пачкой", stats.size());
+    }
+
+    // Водяной знак и корзины читаются из одного снимка: иначе свёртка, завершившаяся между
+    // запросами, учла бы одни и те же хиты и в корзинах, и в сырых данных
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<StatsView> getStats(StatsParams param) {
-        List<StatsView> viewStats;
-        if (param.getUnique()) {
-            viewStats = statsRepository.findAllUniqueIpAndTimestampBetweenAndUriIn(
+        List<Long> uriIds = null;
+        if (param.getEntity() != null) {
+            uriIds = dictionary.findEntityUriIds(param.getEntity(), param.getIds(), param.getIdFrom(), param.getIdTo());
+        } else if (param.getUris() != null) {
+            uriIds = dictionary.findUriIds(param.getUris());
+        }
+        if (uriIds != null && uriIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<StatsHits> hits;
+        if (param.getUnique() && Boolean.TRUE.equals(param.getApproximate())) {
+            hits = getUniqueFromSketches(param, uriIds);
+        } else if (param.getUnique()) {
+            // Уникальные IP не складываются из корзин, точный подсчёт идёт по сырым данным
+            hits = statsRepository.findAllUniqueIpAndTimestampBetweenAndUriIn(
                     param.getStart(),
                     param.getEnd(),
-                    param.getUris()
+                    uriIds
             );
         } else {
-            viewStats = statsRepository.findAllByTimestampBetweenAndUriIn(
-                    param.getStart(),
-                    param.getEnd(),
-                    param.getUris()
-            );
+            hits = getHitsFromRollup(param, uriIds);
+        }
+        return hits.stream()
+                .sorted(Comparator.comparing(StatsHits::hits).reversed())
+                .map(this::toStatsView)
+                .toList();
+    }
+
+    private StatsView toStatsView(StatsHits hit) {
+        StatsUri uri = dictionary.getUriEntry(hit.uriId());
+        return new StatsView(dictionary.getAppName(hit.appId()), uri.uri(), hit.hits(), uri.entityId());
+    }
+
+    private List<StatsHits> getHitsFromRollup(StatsParams param, List<Long> uriIds) {
+        LocalDateTime coveredFrom = RollupGranularity.MINUTE.ceil(param.getStart());
+        LocalDateTime coveredTo = RollupGranularity.MINUTE.floor(param.getEnd());
+        if (!coveredFrom.isBefore(coveredTo)) {
+            coveredFrom = coveredTo;
         }
-        return viewStats;
+        long rolledUpId = rollupRepository.findRolledUpId();
+
+        Map<StatsKey, Long> hits = new HashMap<>();
+        Stream.concat(
+                rollupRepository.sumHits(RollupRange.cover(coveredFrom, coveredTo), uriIds).stream(),
+                statsRepository.findNotRolledUp(param.getStart(), param.getEnd(), uriIds,
+                        coveredFrom, coveredTo, rolledUpId).stream()
+        ).forEach(hit -> hits.merge(hit.key(), hit.hits(), Long::sum));
+
+        return hits.entrySet().stream()
+                .map(entry -> new StatsHits(entry.getKey().appId(), entry.getKey().uriId(), entry.getValue()))
+                .toList();
+    }
+
+    private List<StatsHits> getUniqueFromSketches(StatsParams param, List<Long> uriIds) {
+        LocalDateTime coveredFrom = RollupGranularity.HOUR.ceil(param.getStart());
+        LocalDateTime coveredTo = RollupGranularity.HOUR.floor(param.getEnd());
+        if (!coveredFrom.isBefore(coveredTo)) {
+            coveredFrom = coveredTo;
+        }
+        long rolledUpId = rollupRepository.findRolledUpId();
+
+        Map<StatsKey, HyperLogLog> sketches = rollupRepository.mergeSketches(
+                RollupRange.cover(coveredFrom, coveredTo), uriIds);
+        statsRepository.findNotRolledUpIps(param.getStart(), param.getEnd(), uriIds,
+                        coveredFrom, coveredTo, rolledUpId)
+                .forEach(row -> sketches.computeIfAbsent(new StatsKey((Integer) row[0], (Long) row[1]),
+                        key -> new HyperLogLog()).add((String) row[2]));
+
+        return sketches.entrySet().stream()
+                .map(entry -> new StatsHits(entry.getKey().appId(), entry.getKey().uriId(), entry.getValue().estimate()))
+                .toList();
     }
 }
@@ -0,0 +1,245 @@
+package ru.practicum.explorewithme.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Скетч HyperLogLog на 2^12 регистров: стандартная ошибка оценки 1.04 / sqrt(4096) ≈ 1.6%,
+ * то есть примерно в 95% случаев оценка отличается от точного значения не более чем на 3.3%.
+ * Скетчи объединяются поэлементным максимумом регистров, поэтому корзины можно складывать в любом порядке.
+ * <p>
+ * Оценка — улучшенный estimator Ertl (arXiv:1702.01284): он не смещён на всём диапазоне мощностей,
+ * включая переход от линейного подсчёта к сырой оценке HLL (2.5m..5m), где классическая формула
+ * даёт систематическое завышение.
+ * <p>
+ * Пока занято мало регистров, скетч хранит в памяти только их (по 4 байта на регистр),
+ * а массив из 4096 регистров заводит при заполнении четверти.
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final int MAX_RANK = Long.SIZE - PRECISION + 1;
+    private static final int SPARSE_LIMIT = REGISTERS / 4;
+    private static final double ALPHA_INF = 1 / (2 * Math.log(2));
+
+    private static final byte DENSE = 0;
+    private static final byte SPARSE = 1;
+
+    // Ровно одно из представлений не null: регистры целиком или занятые регистры как (индекс << 8 | значение),
+    // упорядоченные по индексу
+    private byte[] registers;
+    private int[] sparse;
+    private int sparseSize;
+
+    public HyperLogLog() {
+        this.sparse = new int[4];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(String value) {
+        long hash = hash(value.getBytes(StandardCharsets.UTF_8));
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        update(index, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.registers == null) {
+            for (int i = 0; i < other.sparseSize; i++) {
+                update(other.sparse[i] >>> 8, other.sparse[i] & 0xFF);
+            }
+            return;
+        }
+        toDense();
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int[] counts = new int[MAX_RANK + 1];
+        if (registers == null) {
+            counts[0] = REGISTERS - sparseSize;
+            for (int i = 0; i < sparseSize; i++) {
+                counts[sparse[i] & 0xFF]++;
+            }
+        } else {
+            for (byte register : registers) {
+                counts[register]++;
+            }
+        }
+        if (counts[0] == REGISTERS) {
+            return 0;
+        }
+        double z = REGISTERS * tau(1 - (double) counts[MAX_RANK] / REGISTERS);
+        for (int rank = MAX_RANK - 1; rank >= 1; rank--) {
+            z = 0.5 * (z + counts[rank]);
+        }
+        z += REGISTERS * sigma((double) counts[0] / REGISTERS);
+        return Math.round(ALPHA_INF * REGISTERS * REGISTERS / z);
+    }
+
+    /**
+     * Малозаполненные скетчи хранятся парами (индекс, значение): у редко посещаемых uri
+     * занято лишь несколько регистров из 4096.
+     */
+    public byte[] toBytes() {
+        if (registers == null) {
+            byte[] bytes = new byte[sparseSize * 3 + 1];
+            bytes[0] = SPARSE;
+            for (int i = 0, position = 1; i < sparseSize; i++) {
+                int index = sparse[i] >>> 8;
+                bytes[position++] = (byte) (index >>> 8);
+                bytes[position++] = (byte) index;
+                bytes[position++] = (byte) sparse[i];
+            }
+            return bytes;
+        }
+        int used = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                used++;
+            }
+        }
+        if (used * 3 >= REGISTERS) {
+            byte[] bytes = new byte[REGISTERS + 1];
+            bytes[0] = DENSE;
+            System.arraycopy(registers, 0, bytes, 1, REGISTERS);
+            return bytes;
+        }
+        byte[] bytes = new byte[used * 3 + 1];
+        bytes[0] = SPARSE;
+        int position = 1;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] != 0) {
+                bytes[position++] = (byte) (i >>> 8);
+                bytes[position++] = (byte) i;
+                bytes[position++] = registers[i];
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes[0] == DENSE) {
+            return new HyperLogLog(Arrays.copyOfRange(bytes, 1, REGISTERS + 1));
+        }
+        HyperLogLog sketch = new HyperLogLog();
+        for (int position = 1; position < bytes.length; position += 3) {
+            int index = ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
+            sketch.update(index, bytes[position + 2]);
+        }
+        return sketch;
+    }
+
+    private void update(int index, int rank) {
+        if (registers != null) {
+            if (registers[index] < rank) {
+                registers[index] = (byte) rank;
+            }
+            return;
+        }
+        int position = findSparse(index);
+        if (position >= 0) {
+            if ((sparse[position] & 0xFF) < rank) {
+                sparse[position] = index << 8 | rank;
+            }
+            return;
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            registers[index] = (byte) rank;
+            return;
+        }
+        position = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, sparse.length * 2);
+        }
+        System.arraycopy(sparse, position, sparse, position + 1, sparseSize - position);
+        sparse[position] = index << 8 | rank;
+        sparseSize++;
+    }
+
+    // Позиция регистра в sparse или -(точка вставки) - 1, как у Arrays.binarySearch
+    private int findSparse(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleIndex = sparse[middle] >>> 8;
+            if (middleIndex < index) {
+                low = middle + 1;
+            } else if (middleIndex > index) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        if (registers != null) {
+            return;
+        }
+        registers = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> 8] = (byte) sparse[i];
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    // FNV-1a с финализатором MurmurHash3 для равномерного распределения старших битов
+    private static long hash(byte[] data) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53e2d3bL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
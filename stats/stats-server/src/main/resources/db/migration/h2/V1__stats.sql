@@ -0,0 +1,38 @@
+CREATE TABLE IF NOT EXISTS stats (
+    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    ip VARCHAR(45) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stats_uri_timestamp ON stats (uri, timestamp);
+CREATE INDEX IF NOT EXISTS idx_stats_timestamp ON stats (timestamp);
+
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS stats_hll (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    sketch VARBINARY NOT NULL,
+    CONSTRAINT pk_stats_hll PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS stats_rollup_state (
+    id INT NOT NULL,
+    rolled_up_id BIGINT NOT NULL,
+    pending_id BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup_state PRIMARY KEY (id)
+);
+
+INSERT INTO stats_rollup_state (id, rolled_up_id, pending_id) VALUES (1, 0, 0);
@@ -0,0 +1,50 @@
+-- Локальная база в памяти всегда пуста, поэтому таблицы пересоздаются без переноса данных
+CREATE TABLE IF NOT EXISTS stats_app (
+    id INT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_stats_app PRIMARY KEY (id),
+    CONSTRAINT uq_stats_app_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS stats_uri (
+    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    CONSTRAINT pk_stats_uri PRIMARY KEY (id),
+    CONSTRAINT uq_stats_uri_uri UNIQUE (uri)
+);
+
+DROP TABLE stats;
+DROP TABLE stats_rollup;
+DROP TABLE stats_hll;
+
+CREATE TABLE stats (
+    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    app_id INT NOT NULL,
+    uri_id BIGINT NOT NULL,
+    ip VARBINARY(16) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stats_uri_timestamp ON stats (uri_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_stats_timestamp ON stats (timestamp);
+
+CREATE TABLE stats_rollup (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    app_id INT NOT NULL,
+    uri_id BIGINT NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup PRIMARY KEY (granularity, bucket_start, app_id, uri_id)
+);
+
+CREATE TABLE stats_hll (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    app_id INT NOT NULL,
+    uri_id BIGINT NOT NULL,
+    sketch VARBINARY NOT NULL,
+    CONSTRAINT pk_stats_hll PRIMARY KEY (granularity, bucket_start, app_id, uri_id)
+);
+
+UPDATE stats_rollup_state SET rolled_up_id = 0, pending_id = 0;
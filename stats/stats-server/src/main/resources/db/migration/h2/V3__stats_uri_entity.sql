@@ -0,0 +1,4 @@
+ALTER TABLE stats_uri ADD COLUMN IF NOT EXISTS entity VARCHAR(255);
+ALTER TABLE stats_uri ADD COLUMN IF NOT EXISTS entity_id BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_stats_uri_entity ON stats_uri (entity, entity_id);
@@ -0,0 +1,88 @@
+-- Таблица stats, созданная прежним schema.sql, переносится в секционированную без потери данных
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'stats' AND relkind = 'r') THEN
+        ALTER TABLE stats RENAME TO stats_legacy;
+        ALTER TABLE stats_legacy DROP CONSTRAINT IF EXISTS pk_stats;
+        DROP INDEX IF EXISTS idx_stats_timestamp;
+    END IF;
+END $$;
+
+CREATE SEQUENCE IF NOT EXISTS stats_seq;
+
+CREATE TABLE IF NOT EXISTS stats (
+    id BIGINT NOT NULL DEFAULT nextval('stats_seq'),
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    ip VARCHAR(45) NOT NULL,
+    timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE stats_seq OWNED BY stats.id;
+
+-- Покрывающий индекс: и выборка по uri за период, и COUNT(DISTINCT ip) без обращения к таблице
+CREATE INDEX IF NOT EXISTS idx_stats_uri_timestamp ON stats (uri, timestamp) INCLUDE (app, ip);
+CREATE INDEX IF NOT EXISTS idx_stats_timestamp ON stats (timestamp);
+
+-- Границы секций в UTC, как и hibernate.jdbc.time_zone
+CREATE OR REPLACE FUNCTION create_stats_partition(month_start TIMESTAMP) RETURNS VOID AS $$
+DECLARE
+    from_ts TIMESTAMP := date_trunc('month', month_start);
+    to_ts TIMESTAMP := from_ts + INTERVAL '1 month';
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF stats FOR VALUES FROM (%L) TO (%L)',
+                   'stats_' || to_char(from_ts, 'YYYY_MM'), from_ts || '+00', to_ts || '+00');
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+BEGIN
+    FOR month_start IN SELECT generate_series(date_trunc('month', now() AT TIME ZONE 'UTC'),
+                                              date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '2 month',
+                                              INTERVAL '1 month') LOOP
+        PERFORM create_stats_partition(month_start);
+    END LOOP;
+
+    IF to_regclass('stats_legacy') IS NOT NULL THEN
+        FOR month_start IN SELECT DISTINCT date_trunc('month', timestamp AT TIME ZONE 'UTC') FROM stats_legacy LOOP
+            PERFORM create_stats_partition(month_start);
+        END LOOP;
+        INSERT INTO stats (id, app, uri, ip, timestamp)
+        SELECT id, app, uri, ip, timestamp FROM stats_legacy;
+        PERFORM setval('stats_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM stats_legacy), false);
+        DROP TABLE stats_legacy;
+    END IF;
+END $$;
+
+-- Хиты с датой вне созданных секций (клиент передаёт timestamp сам)
+CREATE TABLE IF NOT EXISTS stats_default PARTITION OF stats DEFAULT;
+
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS stats_hll (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    sketch BYTEA NOT NULL,
+    CONSTRAINT pk_stats_hll PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS stats_rollup_state (
+    id INT NOT NULL,
+    rolled_up_id BIGINT NOT NULL,
+    pending_id BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup_state PRIMARY KEY (id)
+);
+
+INSERT INTO stats_rollup_state (id, rolled_up_id, pending_id) VALUES (1, 0, 0) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,66 @@
+-- app и uri выносятся в справочники, IP хранится упакованным (4 байта для IPv4)
+CREATE TABLE IF NOT EXISTS stats_app (
+    id INT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_stats_app PRIMARY KEY (id),
+    CONSTRAINT uq_stats_app_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS stats_uri (
+    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
+    uri VARCHAR(2048) NOT NULL,
+    CONSTRAINT pk_stats_uri PRIMARY KEY (id),
+    CONSTRAINT uq_stats_uri_uri UNIQUE (uri)
+);
+
+INSERT INTO stats_app (name) SELECT DISTINCT app FROM stats;
+INSERT INTO stats_uri (uri) SELECT DISTINCT uri FROM stats;
+
+ALTER TABLE stats
+    ADD COLUMN app_id INT,
+    ADD COLUMN uri_id BIGINT,
+    ADD COLUMN ip_packed BYTEA;
+
+-- До этой миграции принимались только IPv4-адреса
+UPDATE stats s
+SET app_id = a.id,
+    uri_id = u.id,
+    ip_packed = decode(lpad(to_hex(s.ip::inet - '0.0.0.0'::inet), 8, '0'), 'hex')
+FROM stats_app a, stats_uri u
+WHERE a.name = s.app AND u.uri = s.uri;
+
+ALTER TABLE stats
+    DROP COLUMN app,
+    DROP COLUMN uri,
+    DROP COLUMN ip;
+ALTER TABLE stats RENAME COLUMN ip_packed TO ip;
+ALTER TABLE stats
+    ALTER COLUMN app_id SET NOT NULL,
+    ALTER COLUMN uri_id SET NOT NULL,
+    ALTER COLUMN ip SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_stats_uri_timestamp ON stats (uri_id, timestamp) INCLUDE (app_id, ip);
+
+-- Корзины и скетчи пересобираются из сырых данных при следующем запуске свёртки
+DROP TABLE stats_rollup;
+DROP TABLE stats_hll;
+
+CREATE TABLE stats_rollup (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    app_id INT NOT NULL,
+    uri_id BIGINT NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup PRIMARY KEY (granularity, bucket_start, app_id, uri_id)
+);
+
+CREATE TABLE stats_hll (
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    app_id INT NOT NULL,
+    uri_id BIGINT NOT NULL,
+    sketch BYTEA NOT NULL,
+    CONSTRAINT pk_stats_hll PRIMARY KEY (granularity, bucket_start, app_id, uri_id)
+);
+
+UPDATE stats_rollup_state SET rolled_up_id = 0, pending_id = (SELECT COALESCE(MAX(id), 0) FROM stats);
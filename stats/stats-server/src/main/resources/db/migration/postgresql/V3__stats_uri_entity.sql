@@ -0,0 +1,11 @@
+-- Uri вида /{entity}/{id} раскладываются на сущность и числовой id, чтобы запрашивать статистику по id
+ALTER TABLE stats_uri
+    ADD COLUMN entity VARCHAR(255),
+    ADD COLUMN entity_id BIGINT;
+
+UPDATE stats_uri
+SET entity = split_part(uri, '/', 2),
+    entity_id = split_part(uri, '/', 3)::BIGINT
+WHERE uri ~ '^/[^/]+/[0-9]{1,18}$';
+
+CREATE INDEX IF NOT EXISTS idx_stats_uri_entity ON stats_uri (entity, entity_id);
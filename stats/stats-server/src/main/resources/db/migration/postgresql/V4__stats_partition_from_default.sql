@@ -0,0 +1,37 @@
+-- Если в stats_default уже есть хиты за месяц, CREATE TABLE ... PARTITION OF падает при каждом запуске.
+-- Тогда секция создаётся отдельной таблицей, хиты за месяц переносятся в неё из stats_default,
+-- и таблица подключается к stats. Функция возвращает число перенесённых строк.
+DROP FUNCTION IF EXISTS create_stats_partition(TIMESTAMP);
+
+CREATE FUNCTION create_stats_partition(month_start TIMESTAMP) RETURNS BIGINT AS $$
+DECLARE
+    from_ts TIMESTAMP := date_trunc('month', month_start);
+    to_ts TIMESTAMP := from_ts + INTERVAL '1 month';
+    partition_name TEXT := 'stats_' || to_char(from_ts, 'YYYY_MM');
+    moved BIGINT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    IF to_regclass('stats_default') IS NULL OR NOT EXISTS (
+            SELECT 1 FROM stats_default
+            WHERE timestamp >= from_ts AT TIME ZONE 'UTC' AND timestamp < to_ts AT TIME ZONE 'UTC') THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF stats FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, from_ts || '+00', to_ts || '+00');
+        RETURN 0;
+    END IF;
+
+    -- Новые хиты за месяц не должны попасть в stats_default между переносом и подключением; чтение не блокируется
+    LOCK TABLE stats_default IN EXCLUSIVE MODE;
+    EXECUTE format('CREATE TABLE %I (LIKE stats INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM stats_default WHERE timestamp >= %L AND timestamp < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved',
+                   from_ts || '+00', to_ts || '+00', partition_name);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    -- Индексы и первичный ключ stats создаются на подключаемой таблице автоматически
+    EXECUTE format('ALTER TABLE stats ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, from_ts || '+00', to_ts || '+00');
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
@@ -1,9 +0,0 @@
-DROP TABLE IF EXISTS stats;
-
-CREATE TABLE IF NOT EXISTS stats (
-    id BIGINT GENERATED ALWAYS AS IDENTITY NOT NULL,
-    app VARCHAR(255) NOT NULL,
-    uri VARCHAR(2048) NOT NULL,
-    ip VARCHAR(45) NOT NULL,
-    timestamp TIMESTAMP WITH TIME ZONE NOT NULL
-);
@@ -0,0 +1,143 @@
+package ru.practicum.explorewithme.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import ru.practicum.StatsDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("local")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Transactional
+class StatsControllerTest {
+
+    private static final String BATCH_URL = "/hit/batch";
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private final ObjectMapper objectMapper;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp(WebApplicationContext wac) {
+        mvc = MockMvcBuilders.webAppContextSetup(wac).build();
+    }
+
+    @Test
+    void saveHits_shouldSaveAllHits_whenJsonBatchProvided() throws Exception {
+        List<StatsDto> hits = List.of(hit("/events/101", "10.0.0.1"), hit("/events/101", "10.0.0.2"));
+
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(hits)))
+                .andExpect(status().isCreated());
+
+        expectHits("/events/101", 2);
+    }
+
+    @Test
+    void saveHits_shouldReturnBadRequest_whenJsonBatchIsEmpty() throws Exception {
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void saveHits_shouldReturnBadRequest_whenJsonBatchContainsInvalidHit() throws Exception {
+        List<StatsDto> hits = List.of(hit("/events/102", "10.0.0.1"), hit("/events/102", "not-an-ip"));
+
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(hits)))
+                .andExpect(status().isBadRequest());
+
+        expectHits("/events/102", 0);
+    }
+
+    @Test
+    void saveHitsStream_shouldSaveAllHits_whenNdjsonBatchProvided() throws Exception {
+        List<StatsDto> hits = List.of(hit("/events/103", "10.0.0.1"), hit("/events/103", "::1"),
+                hit("/events/103", "10.0.0.3"));
+
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson(hits)))
+                .andExpect(status().isCreated());
+
+        expectHits("/events/103", 3);
+    }
+
+    @Test
+    void saveHitsStream_shouldReturnBadRequest_whenNdjsonBatchIsEmpty() throws Exception {
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reason").value("must not be empty"));
+    }
+
+    @Test
+    void saveHitsStream_shouldReturnBadRequestAndSaveNothing_whenLineIsInvalid() throws Exception {
+        List<StatsDto> hits = List.of(hit("/events/104", "10.0.0.1"), hit("/events/104", "10.0.0.2"),
+                hit("", "10.0.0.3"));
+
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson(hits)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reason").value("URI cannot be blank"));
+
+        expectHits("/events/104", 0);
+    }
+
+    @Test
+    void saveHitsStream_shouldReturnBadRequest_whenLineIsMalformed() throws Exception {
+        String body = objectMapper.writeValueAsString(hit("/events/105", "10.0.0.1")) + "\n{\"app\": ";
+
+        mvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        expectHits("/events/105", 0);
+    }
+
+    private void expectHits(String uri, long hits) throws Exception {
+        mvc.perform(get("/stats")
+                        .param("start", "2025-01-01 00:00:00")
+                        .param("end", "2025-02-01 00:00:00")
+                        .param("uris", uri))
+                .andExpect(status().isOk())
+                .andExpect(hits == 0 ? jsonPath("$", hasSize(0)) : jsonPath("$[0].hits").value(hits));
+    }
+
+    private String ndjson(List<StatsDto> hits) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (StatsDto hit : hits) {
+            body.append(objectMapper.writeValueAsString(hit)).append('\n');
+        }
+        return body.toString();
+    }
+
+    private static StatsDto hit(String uri, String ip) {
+        return new StatsDto("ewm-main-service", uri, ip, TIMESTAMP);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.explorewithme.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupRangeTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void cover_shouldReturnNothing_whenRangeIsEmpty() {
+        assertTrue(RollupRange.cover(DAY.plusHours(5), DAY.plusHours(5)).isEmpty());
+    }
+
+    @Test
+    void cover_shouldUseSingleDayRange_whenBoundsAreDayAligned() {
+        assertEquals(List.of(new RollupRange(RollupGranularity.DAY, DAY, DAY.plusDays(2))),
+                RollupRange.cover(DAY, DAY.plusDays(2)));
+    }
+
+    @Test
+    void cover_shouldUseSingleHourRange_whenBoundsAreHourAlignedWithinDay() {
+        assertEquals(List.of(new RollupRange(RollupGranularity.HOUR, DAY.plusHours(3), DAY.plusHours(7))),
+                RollupRange.cover(DAY.plusHours(3), DAY.plusHours(7)));
+    }
+
+    @Test
+    void cover_shouldUseOnlyMinutes_whenRangeIsInsideOneHour() {
+        assertEquals(List.of(new RollupRange(RollupGranularity.MINUTE, DAY.plusMinutes(5), DAY.plusMinutes(40))),
+                RollupRange.cover(DAY.plusMinutes(5), DAY.plusMinutes(40)));
+    }
+
+    @Test
+    void cover_shouldSplitMinutesAroundHour_whenRangeCrossesOneHourBoundary() {
+        LocalDateTime from = DAY.plusHours(10).plusMinutes(59);
+        LocalDateTime to = DAY.plusHours(12).plusMinutes(1);
+
+        assertEquals(Set.of(
+                new RollupRange(RollupGranularity.HOUR, DAY.plusHours(11), DAY.plusHours(12)),
+                new RollupRange(RollupGranularity.MINUTE, from, DAY.plusHours(11)),
+                new RollupRange(RollupGranularity.MINUTE, DAY.plusHours(12), to)
+        ), Set.copyOf(RollupRange.cover(from, to)));
+    }
+
+    @Test
+    void cover_shouldUseDaysInMiddleAndFinerRangesAtEdges_whenRangeSpansSeveralDays() {
+        LocalDateTime from = DAY.plusHours(22).plusMinutes(30);
+        LocalDateTime to = DAY.plusDays(2).plusHours(1).plusMinutes(15);
+
+        assertEquals(Set.of(
+                new RollupRange(RollupGranularity.DAY, DAY.plusDays(1), DAY.plusDays(2)),
+                new RollupRange(RollupGranularity.HOUR, DAY.plusHours(23), DAY.plusDays(1)),
+                new RollupRange(RollupGranularity.MINUTE, from, DAY.plusHours(23)),
+                new RollupRange(RollupGranularity.HOUR, DAY.plusDays(2), DAY.plusDays(2).plusHours(1)),
+                new RollupRange(RollupGranularity.MINUTE, DAY.plusDays(2).plusHours(1), to)
+        ), Set.copyOf(RollupRange.cover(from, to)));
+    }
+
+    @Test
+    void cover_shouldNotUseDayRange_whenRangeCrossesMidnightWithoutFullDay() {
+        LocalDateTime from = DAY.plusHours(23);
+        LocalDateTime to = DAY.plusDays(1).plusHours(2);
+
+        assertEquals(List.of(new RollupRange(RollupGranularity.HOUR, from, to)), RollupRange.cover(from, to));
+    }
+
+    @Test
+    void cover_shouldTileRangeWithAlignedDisjointRanges_whenBoundsAreRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            LocalDateTime from = DAY.plusMinutes(random.nextInt(5 * 24 * 60));
+            LocalDateTime to = from.plusMinutes(random.nextInt(5 * 24 * 60));
+
+            List<RollupRange> ranges = RollupRange.cover(from, to).stream()
+                    .sorted(Comparator.comparing(RollupRange::from))
+                    .toList();
+
+            LocalDateTime covered = from;
+            for (RollupRange range : ranges) {
+                assertEquals(covered, range.from(), () -> "Разрыв или пересечение в " + ranges);
+                assertTrue(range.from().isBefore(range.to()), () -> "Пустой диапазон в " + ranges);
+                assertEquals(range.granularity().floor(range.from()), range.from());
+                assertEquals(range.granularity().floor(range.to()), range.to());
+                covered = range.to();
+            }
+            assertEquals(to, covered);
+            assertTrue(ranges.size() <= 5, () -> "Лишние диапазоны: " + ranges);
+            assertEquals(Duration.between(from, to), ranges.stream()
+                    .map(range -> Duration.between(range.from(), range.to()))
+                    .reduce(Duration.ZERO, Duration::plus));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.explorewithme.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsUriTest {
+
+    private static final String[] URIS = {
+            "/events/1", "/events/42", "/events/007", "/events/0", "/compilations/15", "/e/1",
+            "/events/999999999999999999", "/events/1000000000000000000",
+            "/events", "/events/", "/events/abc", "/events/12a", "/events/-1", "/events/+1", "/events/1.5",
+            "/events/12/", "/events/1/comments", "//1", "/", "", "events/1", "/events//1", "/events/١٢", "/events/1\n"
+    };
+
+    @Test
+    void of_shouldParseEntityAndId_whenUriIsEntityPath() {
+        assertEquals(new StatsUri("/events/42", "events", 42L), StatsUri.of("/events/42"));
+        assertEquals(new StatsUri("/events/007", "events", 7L), StatsUri.of("/events/007"));
+        assertEquals(new StatsUri("/events/999999999999999999", "events", 999_999_999_999_999_999L),
+                StatsUri.of("/events/999999999999999999"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/events", "/events/", "/events/abc", "/events/12a", "/events/-1", "/events/1000000000000000000",
+            "/events/12/", "/events/1/comments", "//1", "/", "", "events/1", "/events//1"
+    })
+    void of_shouldKeepOnlyUri_whenUriIsNotEntityPath(String uri) {
+        assertEquals(new StatsUri(uri, null, null), StatsUri.of(uri));
+    }
+
+    // Заполнение entity/entity_id миграцией V3 должно совпадать с разбором новых uri
+    @Test
+    void of_shouldMatchV3Backfill_whenUriIsParsedBySql() throws IOException {
+        Pattern backfill = v3BackfillPattern();
+
+        for (String uri : URIS) {
+            StatsUri expected = backfill.matcher(uri).find()
+                    ? new StatsUri(uri, splitPart(uri, 2), Long.parseLong(splitPart(uri, 3)))
+                    : new StatsUri(uri, null, null);
+
+            assertEquals(expected, StatsUri.of(uri), uri);
+        }
+    }
+
+    private static Pattern v3BackfillPattern() throws IOException {
+        String sql;
+        try (InputStream migration = StatsUriTest.class
+                .getResourceAsStream("/db/migration/postgresql/V3__stats_uri_entity.sql")) {
+            assertNotNull(migration);
+            sql = new String(migration.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Matcher condition = Pattern.compile("WHERE uri ~ '([^']+)'").matcher(sql);
+        assertTrue(condition.find(), "В V3 нет условия на uri");
+        // В PostgreSQL $ означает только конец строки, в Java это \z
+        String regex = condition.group(1);
+        assertTrue(regex.endsWith("$"), regex);
+        return Pattern.compile(regex.substring(0, regex.length() - 1) + "\\z");
+    }
+
+    // split_part из PostgreSQL: части нумеруются с 1, отсутствующая часть — пустая строка
+    private static String splitPart(String value, int part) {
+        String[] parts = value.split("/", -1);
+        return part <= parts.length ? parts[part - 1] : "";
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.explorewithme.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.StatsDto;
+import ru.practicum.StatsParams;
+import ru.practicum.StatsView;
+import ru.practicum.explorewithme.repository.StatsRollupRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("local")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Transactional
+class StatsRollupServiceImplIntegrationTest {
+
+    private static final String URI = "/events/201";
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 2, 10, 12, 0);
+
+    private final StatsService statsService;
+    private final StatsRollupService rollupService;
+    private final StatsRollupRepository rollupRepository;
+
+    @Test
+    void rollup_shouldAdvanceWatermarkWithoutChangingStats_whenHitsAreRolledUp() {
+        statsService.saveHits(List.of(
+                hit("10.0.0.1", TIMESTAMP.plusSeconds(10)),
+                hit("10.0.0.2", TIMESTAMP.plusMinutes(5)),
+                hit("10.0.0.1", TIMESTAMP.plusHours(3))));
+        assertEquals(3, hits(false));
+
+        // Первый запуск только запоминает максимальный id, второй сворачивает хиты до него
+        rollupService.rollup();
+        rollupService.rollup();
+
+        assertEquals(rollupRepository.findMaxStatsId(), rollupRepository.findRolledUpId());
+        assertEquals(3, hits(false));
+        assertEquals(2, hits(true));
+
+        statsService.saveHit(hit("10.0.0.3", TIMESTAMP.plusHours(3).plusSeconds(30)));
+        assertEquals(4, hits(false));
+        assertEquals(3, hits(true));
+    }
+
+    private long hits(boolean unique) {
+        StatsParams params = new StatsParams();
+        params.setStart(TIMESTAMP.minusDays(1));
+        params.setEnd(TIMESTAMP.plusDays(1));
+        params.setUris(List.of(URI));
+        params.setUnique(unique);
+        params.setApproximate(unique);
+        List<StatsView> views = statsService.getStats(params);
+        return views.isEmpty() ? 0 : views.getFirst().getHits();
+    }
+
+    private static StatsDto hit(String ip, LocalDateTime timestamp) {
+        return new StatsDto("ewm-main-service", URI, ip, timestamp);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.explorewithme.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import ru.practicum.explorewithme.repository.StatsRollupRepository;
+import ru.practicum.explorewithme.repository.StatsRollupRepository.Watermark;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+class StatsRollupServiceImplTest {
+
+    private StatsRollupRepository rollupRepository;
+    private StatsRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(StatsRollupRepository.class);
+        when(rollupRepository.aggregateMinutes(anyLong(), anyLong())).thenReturn(Map.of());
+        when(rollupRepository.collectSketches(anyLong(), anyLong())).thenReturn(Map.of());
+        rollupService = new StatsRollupServiceImpl(rollupRepository);
+        setField(rollupService, "chunkSize", 100L);
+    }
+
+    @Test
+    void rollup_shouldOnlyRememberMaxId_whenNothingIsPending() {
+        when(rollupRepository.lockWatermark()).thenReturn(new Watermark(0, 0));
+        when(rollupRepository.findMaxStatsId()).thenReturn(250L);
+
+        rollupService.rollup();
+
+        verify(rollupRepository, never()).aggregateMinutes(anyLong(), anyLong());
+        verify(rollupRepository).saveWatermark(new Watermark(0, 250));
+    }
+
+    @Test
+    void rollup_shouldRollUpPendingIdsInChunks_whenPendingIdIsAhead() {
+        when(rollupRepository.lockWatermark()).thenReturn(new Watermark(0, 250));
+        when(rollupRepository.findMaxStatsId()).thenReturn(300L);
+
+        rollupService.rollup();
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).aggregateMinutes(0, 100);
+        inOrder.verify(rollupRepository).aggregateMinutes(100, 200);
+        inOrder.verify(rollupRepository).aggregateMinutes(200, 250);
+        inOrder.verify(rollupRepository).saveWatermark(new Watermark(250, 300));
+        verify(rollupRepository).collectSketches(200, 250);
+        verify(rollupRepository, times(3)).addHits(anyMap());
+    }
+
+    @Test
+    void rollup_shouldNotRollUpIdsAbovePending_whenNewHitsArrivedSinceLastRun() {
+        when(rollupRepository.lockWatermark()).thenReturn(new Watermark(250, 260));
+        when(rollupRepository.findMaxStatsId()).thenReturn(1000L);
+
+        rollupService.rollup();
+
+        verify(rollupRepository).aggregateMinutes(250, 260);
+        verify(rollupRepository, times(1)).aggregateMinutes(anyLong(), anyLong());
+        verify(rollupRepository).saveWatermark(new Watermark(260, 1000));
+    }
+}
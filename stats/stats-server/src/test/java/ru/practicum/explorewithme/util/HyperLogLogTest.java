@@ -0,0 +1,108 @@
+package ru.practicum.explorewithme.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    // Стандартная ошибка для 4096 регистров
+    private static final double STANDARD_ERROR = 1.04 / Math.sqrt(4096);
+
+    @Test
+    void estimate_shouldReturnZero_whenSketchIsEmpty() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void estimate_shouldBeExact_whenFewValuesAdded() {
+        HyperLogLog sketch = sketch(0, 10);
+        sketch.add("value-3");
+
+        assertEquals(10, sketch.estimate());
+    }
+
+    // Включая переход 2.5m..5m (10240..20480), где классическая оценка смещена
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 5_000, 10_000, 12_000, 15_000, 20_000, 50_000, 300_000})
+    void estimate_shouldStayWithinErrorBound_whenCardinalityGrows(int cardinality) {
+        int runs = 10;
+        double errorSum = 0;
+        for (int run = 0; run < runs; run++) {
+            long estimate = sketch(run * 10_000_000, cardinality).estimate();
+            double error = (double) (estimate - cardinality) / cardinality;
+            assertTrue(Math.abs(error) < 4 * STANDARD_ERROR,
+                    () -> "Оценка " + estimate + " для " + cardinality + " значений");
+            errorSum += error;
+        }
+        double bias = errorSum / runs;
+        // Среднее по запускам: стандартная ошибка sigma / sqrt(runs), смещения быть не должно
+        assertTrue(Math.abs(bias) < 3 * STANDARD_ERROR / Math.sqrt(runs),
+                () -> "Смещение " + bias + " для " + cardinality + " значений");
+    }
+
+    @Test
+    void merge_shouldEstimateUnion_whenSketchesOverlap() {
+        HyperLogLog left = sketch(0, 30_000);
+        HyperLogLog right = sketch(20_000, 30_000);
+
+        left.merge(right);
+
+        assertEquals(50_000, left.estimate(), 50_000 * 4 * STANDARD_ERROR);
+    }
+
+    @Test
+    void merge_shouldMatchSingleSketch_whenSparseAndDenseAreMixed() {
+        HyperLogLog expected = sketch(0, 20_100);
+        HyperLogLog sparse = sketch(0, 100);
+        HyperLogLog dense = sketch(100, 20_000);
+
+        HyperLogLog sparseIntoDense = sketch(100, 20_000);
+        sparseIntoDense.merge(sparse);
+        sparse.merge(dense);
+
+        assertArrayEquals(expected.toBytes(), sparse.toBytes());
+        assertArrayEquals(expected.toBytes(), sparseIntoDense.toBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 500, 1_024, 1_100, 1_500, 3_000, 100_000})
+    void fromBytes_shouldRestoreSameSketch_whenSerialized(int cardinality) {
+        HyperLogLog sketch = sketch(0, cardinality);
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(sketch.estimate(), restored.estimate());
+        restored.add("value-" + cardinality);
+        sketch.add("value-" + cardinality);
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void toBytes_shouldUseSparseFormat_whenFewRegistersUsed() {
+        byte[] bytes = sketch(0, 10).toBytes();
+
+        assertEquals(1, bytes[0]);
+        assertEquals(10 * 3 + 1, bytes.length);
+    }
+
+    @Test
+    void toBytes_shouldUseDenseFormat_whenManyRegistersUsed() {
+        byte[] bytes = sketch(0, 100_000).toBytes();
+
+        assertEquals(0, bytes[0]);
+        assertEquals(4096 + 1, bytes.length);
+    }
+
+    private static HyperLogLog sketch(int from, int count) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < from + count; i++) {
+            sketch.add("value-" + i);
+        }
+        return sketch;
+    }
+}